@@ -0,0 +1,35 @@
+package com.scheduler.scheduler_engine.domain.entity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScheduledTaskBenchmark {
+
+    @Param({"*/5 * * * * *", "0 0 3 * * 1"})
+    public String expression;
+
+    private ScheduledTask task;
+
+    @Setup
+    public void setUp() {
+        task = new ScheduledTask("bench-ssuuid", "benchmark message", expression);
+    }
+
+    @Benchmark
+    public LocalDateTime calculateNextExecutionTime() {
+        task.calculateNextExecutionTime();
+        return task.getNextExecutionTime();
+    }
+}
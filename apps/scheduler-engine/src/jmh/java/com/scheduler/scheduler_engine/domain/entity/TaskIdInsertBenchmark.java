@@ -0,0 +1,96 @@
+package com.scheduler.scheduler_engine.domain.entity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput and primary-key index size for random (v4) versus time-ordered (v7) task ids
+ * against a real Postgres. Needs a throwaway local database:
+ * {@code SCHEDULER_BENCH_DB_URL=jdbc:postgresql://localhost:5432/scheduler_bench ./gradlew jmh -Pjmh.includes=TaskIdInsertBenchmark}
+ * (credentials from SCHEDULER_BENCH_DB_USER / SCHEDULER_BENCH_DB_PASSWORD). Index size, leaf
+ * density and row count are printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TaskIdInsertBenchmark {
+
+    private static final int BATCH = 1000;
+
+    @Param({"V4", "V7"})
+    public String idType;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private String table;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        String url = System.getenv("SCHEDULER_BENCH_DB_URL");
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("SCHEDULER_BENCH_DB_URL is not set");
+        }
+        connection = DriverManager.getConnection(url,
+                System.getenv().getOrDefault("SCHEDULER_BENCH_DB_USER", "postgres"),
+                System.getenv().getOrDefault("SCHEDULER_BENCH_DB_PASSWORD", "postgres"));
+        table = "bench_task_ids_" + idType.toLowerCase();
+        try (Statement st = connection.createStatement()) {
+            st.execute("CREATE EXTENSION IF NOT EXISTS pgstattuple");
+            st.execute("DROP TABLE IF EXISTS " + table);
+            // Same key and a representative row width of scheduled_tasks
+            st.execute("CREATE TABLE " + table + " (id UUID PRIMARY KEY, ssuuid VARCHAR(255) NOT NULL, "
+                    + "message VARCHAR(1000) NOT NULL, created_at TIMESTAMP NOT NULL DEFAULT NOW())");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("INSERT INTO " + table + " (id, ssuuid, message) VALUES (?, ?, ?)");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void insertBatch() throws SQLException {
+        boolean v7 = "V7".equals(idType);
+        for (int i = 0; i < BATCH; i++) {
+            insert.setObject(1, v7 ? UuidV7.next() : UUID.randomUUID());
+            insert.setString(2, "bench-ssuuid");
+            insert.setString(3, "benchmark message");
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT (SELECT COUNT(*) FROM " + table + "), "
+                     + "pg_size_pretty(pg_relation_size('" + table + "_pkey')), "
+                     + "(pgstatindex('" + table + "_pkey')).avg_leaf_density")) {
+            rs.next();
+            System.out.printf("%n%s: rows=%d, pkey size=%s, avg leaf density=%.1f%%%n",
+                    idType, rs.getLong(1), rs.getString(2), rs.getDouble(3));
+            st.execute("DROP TABLE IF EXISTS " + table);
+        } finally {
+            insert.close();
+            connection.close();
+        }
+    }
+}
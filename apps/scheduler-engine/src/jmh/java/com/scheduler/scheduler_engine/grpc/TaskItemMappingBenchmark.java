@@ -0,0 +1,61 @@
+package com.scheduler.scheduler_engine.grpc;
+
+import com.scheduler.scheduler_engine.domain.entity.ScheduledTask;
+import com.scheduler.scheduler_engine.proto.v1.ListTasksResponse;
+import com.scheduler.scheduler_engine.proto.v1.TaskItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskItemMappingBenchmark {
+
+    @Param({"20", "500"})
+    public int pageSize;
+
+    private List<ScheduledTask> page;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.of(2024, 3, 1, 12, 0, 0);
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            ScheduledTask task = new ScheduledTask("tenant-" + (i % 10), "Task message number " + i, "*/5 * * * * *");
+            task.setId(UUID.randomUUID());
+            task.setCreatedAt(now.minusMinutes(i));
+            task.setUpdatedAt(now);
+            task.setLastExecutedAt(now.minusSeconds(5));
+            task.setExecutionCount(i);
+            page.add(task);
+        }
+    }
+
+    @Benchmark
+    public ListTasksResponse listTasksPage() {
+        ListTasksResponse.Builder resp = ListTasksResponse.newBuilder()
+                .setTotal(pageSize)
+                .setPageSize(pageSize);
+        for (ScheduledTask t : page) {
+            resp.addTasks(TaskEngineGrpcService.toTaskItem(t));
+        }
+        return resp.build();
+    }
+
+    @Benchmark
+    public TaskItem singleItem() {
+        return TaskEngineGrpcService.toTaskItem(page.get(0));
+    }
+}
@@ -0,0 +1,66 @@
+package com.scheduler.scheduler_engine.scheduling;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CronExpressionBenchmark {
+
+    // Dense (every few seconds), business hours, sparse (weekly) and very sparse (leap day)
+    @Param({"*/5 * * * * *", "0 0,30 9-17 * * MON-FRI", "0 0 3 * * 1", "0 0 0 29 2 *"})
+    public String expression;
+
+    private CronExpression cron;
+    private ZonedDateTime after;
+    private long afterEpochSecond;
+
+    @Setup
+    public void setUp() {
+        ZoneId zone = ZoneId.of("Europe/Berlin");
+        cron = CronExpression.parse(expression, zone);
+        after = ZonedDateTime.of(2024, 3, 1, 12, 0, 7, 0, zone);
+        afterEpochSecond = after.toEpochSecond();
+    }
+
+    @Benchmark
+    public CronExpression parse() {
+        return CronExpression.parse(expression);
+    }
+
+    @Benchmark
+    public CronExpression cachedLookup() {
+        return CronExpressionCache.shared().get(expression);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return cron.matches(after);
+    }
+
+    @Benchmark
+    public boolean matchesEpochSecond() {
+        return cron.matches(afterEpochSecond);
+    }
+
+    @Benchmark
+    public ZonedDateTime nextExecutionAfter() {
+        return cron.nextExecutionAfter(after);
+    }
+
+    @Benchmark
+    public long nextFireEpochSecond() {
+        return cron.nextFireEpochSecond(afterEpochSecond);
+    }
+}
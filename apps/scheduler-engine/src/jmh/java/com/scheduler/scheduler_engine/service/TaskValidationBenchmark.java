@@ -0,0 +1,37 @@
+package com.scheduler.scheduler_engine.service;
+
+import com.scheduler.scheduler_engine.config.SchedulerConfig;
+import com.scheduler.scheduler_engine.logger.AppLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskValidationBenchmark {
+
+    @Param({"32", "1000"})
+    public int messageLength;
+
+    private TaskValidationService validationService;
+    private String message;
+
+    @Setup
+    public void setUp() {
+        validationService = new TaskValidationService(new SchedulerConfig(), null, new AppLogger());
+        message = "Send report to ops@example.com (daily) ".repeat(messageLength / 39 + 1).substring(0, messageLength);
+    }
+
+    @Benchmark
+    public void validateTaskCreation() {
+        validationService.validateTaskCreation("tenant-0042_prod", message);
+    }
+}
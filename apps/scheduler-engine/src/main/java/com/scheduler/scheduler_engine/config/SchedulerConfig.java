@@ -5,10 +5,15 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
 
+import java.util.HashMap;
+import java.util.Map;
+
 
 @Configuration
 @ConfigurationProperties(prefix = "scheduler")
@@ -19,6 +24,12 @@ public class SchedulerConfig {
     private TaskConfig task = new TaskConfig();
     private ExecutorConfig executor = new ExecutorConfig();
     private SecurityConfig security = new SecurityConfig();
+    private DispatchConfig dispatch = new DispatchConfig();
+    private WriteBehindConfig writeBehind = new WriteBehindConfig();
+    private ArchiveConfig archive = new ArchiveConfig();
+    private GrpcConfig grpc = new GrpcConfig();
+    private HealthConfig health = new HealthConfig();
+    private LimiterConfig limiter = new LimiterConfig();
 
     @Data
     public static class TaskConfig {
@@ -33,6 +44,26 @@ public class SchedulerConfig {
         private long cleanupIntervalMs = 3600000L; // 1 hour
         
         private boolean cleanupEnabled = true;
+
+        // Pending tasks created longer ago than this are soft-deleted by cleanup
+        @Min(1)
+        private int cleanupStaleAfterHours = 24;
+
+        // Rows soft-deleted per statement, and the pause between statements
+        @Min(1)
+        @Max(100000)
+        private int cleanupChunkSize = 1000;
+
+        @Min(0)
+        private long cleanupChunkPauseMs = 50L;
+
+        // Idempotency keys remembered in memory, each for at most cleanupIntervalMs; the rest fall back to the unique index
+        @Min(1)
+        private int idempotencyCacheSize = 100000;
+
+        // How often the in-memory status counters are checked against one GROUP BY query
+        @Min(1000)
+        private long statsReconcileIntervalMs = 300000L; // 5 minutes
         
         @Min(1)
         private int maxConcurrentTasks = 50;
@@ -51,6 +82,182 @@ public class SchedulerConfig {
         @Min(1)
         @Max(60)
         private int shutdownTimeoutSeconds = 10;
+
+        // Accepted tasks allowed to wait for a worker; admission stops at workers + this
+        @Min(0)
+        private int dispatchQueueCapacity = 1000;
+
+        private ExecutionMode mode = ExecutionMode.PLATFORM;
+
+        // Virtual mode only: executions (task plus its saves) allowed in flight at once
+        @Min(1)
+        private int maxConcurrentExecutions = 10000;
+    }
+
+    public enum ExecutionMode {
+        PLATFORM,  // fixed pool of threadPoolSize platform threads
+        VIRTUAL    // one virtual thread per execution, bounded by maxConcurrentExecutions
+    }
+
+    public enum DispatchMode {
+        POLL,     // query Postgres for due tasks on every tick
+        WHEEL,    // fire from the in-memory due-time index
+        PREFETCH  // load the next window of due tasks into a local delay queue
+    }
+
+    @Data
+    public static class DispatchConfig {
+        private DispatchMode mode = DispatchMode.WHEEL;
+
+        // Full reload of the due-time index from Postgres; 0 disables
+        @Min(0)
+        private long indexResyncIntervalMs = 600000L; // 10 minutes
+
+        // Prefetch mode: how often the window query runs and how far ahead it looks.
+        // Lookahead should exceed the interval so windows overlap by the query latency.
+        @Min(100)
+        private long prefetchIntervalMs = 10000L;
+
+        @Min(100)
+        private long prefetchLookaheadMs = 15000L;
+
+        // Owner recorded on claimed tasks; defaults to pid@hostname
+        private String instanceId;
+
+        // How long a claimed task stays RUNNING before another instance may take it back
+        @Min(1000)
+        private long leaseDurationMs = 300000L; // 5 minutes
+
+        @Min(1000)
+        private long leaseRecoveryIntervalMs = 60000L;
+    }
+
+    @Data
+    public static class WriteBehindConfig {
+        // false writes each completion synchronously on the worker thread
+        private boolean enabled = true;
+
+        // A batch is flushed when it reaches maxBatchSize or flushIntervalMs after its first record
+        @Min(1)
+        @Max(60000)
+        private long flushIntervalMs = 5L;
+
+        @Min(1)
+        @Max(10000)
+        private int maxBatchSize = 500;
+
+        // Workers block once this many completions are waiting to be written
+        @Min(1)
+        private int queueCapacity = 100000;
+    }
+
+    @Data
+    public static class ArchiveConfig {
+        private boolean enabled = true;
+
+        @Min(60000)
+        private long intervalMs = 3600000L; // 1 hour
+
+        // Soft-deleted tasks older than this move from scheduled_tasks to the archive
+        @Min(0)
+        private int retentionDays = 7;
+
+        // Archive months older than this are dropped; 0 keeps them forever
+        @Min(0)
+        private int archiveRetentionMonths = 12;
+
+        @Min(1)
+        @Max(100000)
+        private int chunkSize = 1000;
+
+        @Min(0)
+        private long chunkPauseMs = 50L;
+    }
+
+    @Data
+    public static class GrpcConfig {
+        // StreamTasks: rows fetched from the cursor per round trip, and exports allowed at once
+        @Min(1)
+        @Max(100000)
+        private int streamFetchSize = 1000;
+
+        @Min(1)
+        private int maxConcurrentStreams = 4;
+
+        // BatchRegisterTasks: tasks inserted per JDBC batch/transaction, and per call at most
+        @Min(1)
+        @Max(10000)
+        private int batchRegisterChunkSize = 1000;
+
+        @Min(1)
+        private int maxBatchRegisterSize = 100000;
+
+        // Where handlers run, instead of the library's unbounded cached pool
+        private GrpcExecutorMode executorMode = GrpcExecutorMode.VIRTUAL;
+
+        // Platform mode only; calls beyond the threads wait in the executor's queue
+        @Min(1)
+        private int executorThreads = 32;
+
+        // Calls in progress per method (bare name, e.g. ListTasks); beyond it calls fail fast
+        @Min(1)
+        private int defaultMaxConcurrentCalls = 1000;
+
+        private Map<String, Integer> maxConcurrentCalls = new HashMap<>();
+    }
+
+    @Data
+    public static class HealthConfig {
+        private boolean enabled = true;
+
+        @Min(100)
+        private long sampleIntervalMs = 1000L;
+
+        // Each signal stops serving at or above its high mark; serving resumes once all are at or below low
+        private double queueHighRatio = 0.8;
+        private double queueLowRatio = 0.5;
+
+        @Min(0)
+        private long poolWaitHighMs = 500L;
+
+        @Min(0)
+        private long poolWaitLowMs = 100L;
+
+        @Min(0)
+        private long lagHighMs = 5000L;
+
+        @Min(0)
+        private long lagLowMs = 1000L;
+    }
+
+    @Data
+    public static class LimiterConfig {
+        // Off: only the static maxConcurrentTasks and executor sizes apply
+        private boolean enabled = true;
+
+        @Min(1)
+        private int initialLimit = 20;
+
+        @Min(1)
+        private int minLimit = 2;
+
+        @Min(1)
+        private int maxLimit = 1000;
+
+        // Latency may rise to this multiple of its long-run average before the limit is cut
+        @DecimalMin("1.0")
+        private double rttTolerance = 1.5;
+
+        // Share of each new estimate taken into the limit
+        @DecimalMin("0.01")
+        @DecimalMax("1.0")
+        private double smoothing = 0.2;
+    }
+
+    public enum GrpcExecutorMode {
+        DEFAULT,   // grpc-java's cached thread pool
+        VIRTUAL,   // one virtual thread per callback, bounded by the per-method limits
+        PLATFORM   // fixed pool of executorThreads with a bounded queue
     }
 
     @Data
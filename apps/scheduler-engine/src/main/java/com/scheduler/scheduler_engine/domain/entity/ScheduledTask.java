@@ -7,7 +7,8 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.SQLRestriction;
 import com.scheduler.scheduler_engine.scheduling.CronExpression;
-import java.time.ZonedDateTime;
+import com.scheduler.scheduler_engine.scheduling.CronExpressionCache;
+import com.scheduler.scheduler_engine.scheduling.EpochZone;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -22,7 +23,7 @@ import java.util.UUID;
 public class ScheduledTask {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @GeneratedUuidV7
     private UUID id;
 
     @NotBlank
@@ -63,6 +64,17 @@ public class ScheduledTask {
     @Enumerated(EnumType.STRING)
     private TaskStatus status = TaskStatus.PENDING;
 
+    // Engine instance holding a RUNNING task, and when that claim lapses
+    @Column(name = "claimed_by")
+    private String claimedBy;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    // Optional client key; at most one live task per (ssuuid, idempotencyKey)
+    @Column(name = "idempotency_key")
+    private String idempotencyKey;
+
     // Constructors
     public ScheduledTask() {}
 
@@ -163,6 +175,35 @@ public class ScheduledTask {
         this.status = status;
     }
 
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+
+    public void setClaimedBy(String claimedBy) {
+        this.claimedBy = claimedBy;
+    }
+
+    public LocalDateTime getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public void releaseClaim() {
+        this.claimedBy = null;
+        this.leaseExpiresAt = null;
+    }
+
     
     public void markAsDeleted() {
         this.deletedAt = LocalDateTime.now();
@@ -171,24 +212,28 @@ public class ScheduledTask {
 
     public void incrementExecutionCount() {
         this.executionCount++;
-        this.lastExecutedAt = LocalDateTime.now();
+        this.lastExecutedAt = LocalDateTime.now(EpochZone.systemDefault().clock());
     }
 
     public void calculateNextExecutionTime() {
-        if (this.cronExpression != null && !this.cronExpression.isBlank()) {
+        this.nextExecutionTime = nextExecutionTimeFor(this.cronExpression);
+    }
+
+    /** Next fire time of {@code cronExpression} after now, or five seconds out if it cannot be evaluated. */
+    public static LocalDateTime nextExecutionTimeFor(String cronExpression) {
+        if (cronExpression != null && !cronExpression.isBlank()) {
             try {
-                CronExpression cron = 
-                    com.scheduler.scheduler_engine.scheduling.CronExpression.parse(this.cronExpression);
-                    ZonedDateTime next = cron.nextExecutionAfter(java.time.ZonedDateTime.now());
-                this.nextExecutionTime = next.toLocalDateTime();
+                // Epoch-second arithmetic; the only allocation left is the LocalDateTime column value
+                CronExpression cron = CronExpressionCache.shared().get(cronExpression);
+                long next = cron.nextFireEpochSecond(EpochZone.currentEpochSecond());
+                return EpochZone.systemDefault().toLocalDateTime(next);
             } catch (Exception e) {
                 
-                this.nextExecutionTime = LocalDateTime.now().plusSeconds(5);
+                return LocalDateTime.now().plusSeconds(5);
             }
-        } else {
-            
-            this.nextExecutionTime = LocalDateTime.now().plusSeconds(5);
         }
+        
+        return LocalDateTime.now().plusSeconds(5);
     }
 
     public boolean isDeleted() {
@@ -0,0 +1,46 @@
+package com.scheduler.scheduler_engine.domain.entity;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered UUIDv7 (RFC 9562) ids for tasks. The top 48 bits are the Unix time in milliseconds,
+ * so consecutive inserts land on the right-most leaf of the primary-key B-tree instead of a random
+ * one. The 12-bit rand_a field is used as a counter within the millisecond (method 1), advanced
+ * with a CAS, so ids from this process are strictly increasing without taking a lock; a counter
+ * overflow borrows the next millisecond rather than going backwards. rand_b stays random.
+ */
+public final class UuidV7 {
+
+    // (unix millis << 12) | counter of the last id handed out
+    private static final AtomicLong LAST = new AtomicLong();
+
+    // Shared: SecureRandom is thread-safe, and a per-thread one would be built and seeded afresh
+    // on every virtual thread, i.e. on every call
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private UuidV7() {
+    }
+
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long prev;
+        long stamp;
+        do {
+            prev = LAST.get();
+            stamp = Math.max(now, prev + 1);
+        } while (!LAST.compareAndSet(prev, stamp));
+
+        long millis = stamp >>> 12;
+        long counter = stamp & 0xFFFL;
+        long msb = (millis << 16) | 0x7000L | counter;
+        long lsb = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    /** Creation time encoded in a v7 id, in Unix milliseconds. */
+    public static long timestampMillis(UUID id) {
+        return id.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,20 @@
+package com.scheduler.scheduler_engine.domain.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * What the dispatch path needs to run a claimed task. {@code message} is only filled in, in bulk,
+ * when the executor asks for it; otherwise it is null.
+ */
+public record DueTask(UUID id,
+                      String ssuuid,
+                      String cronExpression,
+                      LocalDateTime nextExecutionTime,
+                      int executionCount,
+                      String message) {
+
+    public DueTask withMessage(String message) {
+        return new DueTask(id, ssuuid, cronExpression, nextExecutionTime, executionCount, message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.scheduler.scheduler_engine.domain.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A validated task ready for a JDBC insert, with its id and first due time already assigned.
+ * {@code idempotencyKey} is null for tasks registered without one.
+ */
+public record NewTask(UUID id, String ssuuid, String message, String cronExpression, LocalDateTime nextExecutionTime,
+                      String idempotencyKey) {
+}
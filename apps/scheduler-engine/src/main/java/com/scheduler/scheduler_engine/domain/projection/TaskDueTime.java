@@ -0,0 +1,10 @@
+package com.scheduler.scheduler_engine.domain.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Id and next due time of a pending task; all the due-time index needs to load.
+ */
+public record TaskDueTime(UUID id, LocalDateTime nextExecutionTime) {
+}
@@ -2,16 +2,22 @@ package com.scheduler.scheduler_engine.domain.repository;
 
 import com.scheduler.scheduler_engine.domain.entity.ScheduledTask;
 import com.scheduler.scheduler_engine.domain.entity.TaskStatus;
+import com.scheduler.scheduler_engine.domain.projection.TaskDueTime;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ScheduledTaskRepository extends JpaRepository<ScheduledTask, UUID> {
@@ -27,6 +33,15 @@ public interface ScheduledTaskRepository extends JpaRepository<ScheduledTask, UU
     @Query("SELECT t FROM ScheduledTask t WHERE t.status = 'PENDING' AND t.deletedAt IS NULL AND t.nextExecutionTime <= :now ORDER BY t.nextExecutionTime ASC")
     List<ScheduledTask> findPendingTasksForExecution(@Param("now") java.time.LocalDateTime now);
 
+    // Streams every pending task's due time for the in-memory index; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT new com.scheduler.scheduler_engine.domain.projection.TaskDueTime(t.id, t.nextExecutionTime) FROM ScheduledTask t WHERE t.status = 'PENDING' AND t.deletedAt IS NULL")
+    Stream<TaskDueTime> streamPendingDueTimes();
+
+    // One query per prefetch window: every pending task due up to the window's end, overdue ones included
+    @Query("SELECT new com.scheduler.scheduler_engine.domain.projection.TaskDueTime(t.id, t.nextExecutionTime) FROM ScheduledTask t WHERE t.status = 'PENDING' AND t.deletedAt IS NULL AND t.nextExecutionTime <= :until ORDER BY t.nextExecutionTime ASC")
+    List<TaskDueTime> findPendingDueTimesUntil(@Param("until") java.time.LocalDateTime until);
+
     
     List<ScheduledTask> findByStatusAndDeletedAtIsNull(TaskStatus status);
 
@@ -44,13 +59,39 @@ public interface ScheduledTaskRepository extends JpaRepository<ScheduledTask, UU
     @Query("SELECT t FROM ScheduledTask t WHERE t.createdAt >= :since AND t.deletedAt IS NULL")
     List<ScheduledTask> findTasksCreatedSince(@Param("since") java.time.LocalDateTime since);
 
-   
-    @Query("SELECT t FROM ScheduledTask t WHERE t.status = 'PENDING' AND t.deletedAt IS NULL AND t.createdAt < :threshold")
-    List<ScheduledTask> findStaleTasks(@Param("threshold") java.time.LocalDateTime threshold);
 
-    // Pagination queries
-    @Query("SELECT t FROM ScheduledTask t WHERE (:ssuuid IS NULL OR t.ssuuid = :ssuuid) AND (:status IS NULL OR t.status = :status) AND t.deletedAt IS NULL ORDER BY t.createdAt DESC")
+    // Pagination queries. All share the (createdAt, id) descending order keyset pages rely on.
+    @Query("SELECT t FROM ScheduledTask t WHERE (:ssuuid IS NULL OR t.ssuuid = :ssuuid) AND (:status IS NULL OR t.status = :status) AND t.deletedAt IS NULL ORDER BY t.createdAt DESC, t.id DESC")
     Page<ScheduledTask> findAllPaginated(@Param("ssuuid") String ssuuid,
                                          @Param("status") TaskStatus status,
                                          Pageable pageable);
+
+    // Same page without the count query
+    @Query("SELECT t FROM ScheduledTask t WHERE (:ssuuid IS NULL OR t.ssuuid = :ssuuid) AND (:status IS NULL OR t.status = :status) AND t.deletedAt IS NULL ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<ScheduledTask> findSlice(@Param("ssuuid") String ssuuid,
+                                   @Param("status") TaskStatus status,
+                                   Pageable pageable);
+
+    // Keyset pages: the rows after (createdAt, id). Native for the row-value comparison, which
+    // Postgres turns into one seek on idx_ssuuid_created_at_id instead of an OR it cannot seek on.
+    @Query(value = "SELECT t.* FROM scheduled_tasks t WHERE t.ssuuid = :ssuuid AND (CAST(:status AS varchar) IS NULL OR t.status = :status) "
+            + "AND t.deleted_at IS NULL AND (t.created_at, t.id) < (:createdAt, :id) ORDER BY t.created_at DESC, t.id DESC",
+            nativeQuery = true)
+    Slice<ScheduledTask> findTenantSliceAfter(@Param("ssuuid") String ssuuid,
+                                              @Param("status") String status,
+                                              @Param("createdAt") java.time.LocalDateTime createdAt,
+                                              @Param("id") UUID id,
+                                              Pageable pageable);
+
+    // Across tenants there is no index to seek; the row comparison still avoids rereading skipped rows
+    @Query(value = "SELECT t.* FROM scheduled_tasks t WHERE (CAST(:status AS varchar) IS NULL OR t.status = :status) "
+            + "AND t.deleted_at IS NULL AND (t.created_at, t.id) < (:createdAt, :id) ORDER BY t.created_at DESC, t.id DESC",
+            nativeQuery = true)
+    Slice<ScheduledTask> findSliceAfter(@Param("status") String status,
+                                        @Param("createdAt") java.time.LocalDateTime createdAt,
+                                        @Param("id") UUID id,
+                                        Pageable pageable);
+
+    @Query("SELECT COUNT(t) FROM ScheduledTask t WHERE (:ssuuid IS NULL OR t.ssuuid = :ssuuid) AND (:status IS NULL OR t.status = :status) AND t.deletedAt IS NULL")
+    long countFiltered(@Param("ssuuid") String ssuuid, @Param("status") TaskStatus status);
 }
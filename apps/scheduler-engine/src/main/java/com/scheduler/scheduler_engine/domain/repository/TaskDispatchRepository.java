@@ -0,0 +1,122 @@
+package com.scheduler.scheduler_engine.domain.repository;
+
+import com.scheduler.scheduler_engine.domain.projection.DueTask;
+import com.scheduler.scheduler_engine.domain.projection.TaskDueTime;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JDBC read/claim path for dispatch. Returns small records instead of managed entities and never
+ * touches {@code message} unless asked to, so a large due set costs a few columns per row.
+ * Postgres only (UPDATE ... RETURNING, SKIP LOCKED, uuid arrays).
+ */
+@Repository
+public class TaskDispatchRepository {
+
+    private static final String RETURNING = " RETURNING id, ssuuid, cron_expression, next_execution_time, execution_count";
+
+    // owner, lease_expires_at, updated_at, now, limit
+    static final String CLAIM_DUE_SQL = """
+            UPDATE scheduled_tasks SET status = 'RUNNING', claimed_by = ?, lease_expires_at = ?, updated_at = ?
+            WHERE id IN (
+                SELECT id FROM scheduled_tasks
+                WHERE status = 'PENDING' AND deleted_at IS NULL AND next_execution_time <= ?
+                ORDER BY next_execution_time
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            """ + RETURNING;
+
+    private static final RowMapper<DueTask> DUE_TASK = (rs, i) -> new DueTask(
+            rs.getObject("id", UUID.class),
+            rs.getString("ssuuid"),
+            rs.getString("cron_expression"),
+            toLocalDateTime(rs.getTimestamp("next_execution_time")),
+            rs.getInt("execution_count"),
+            null);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskDispatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Claims up to {@code limit} due tasks for {@code owner} in one round trip: rows are locked
+     * with SKIP LOCKED, so concurrent instances split the due set instead of blocking on or
+     * duplicating each other's rows.
+     */
+    public List<DueTask> claimDueTasks(String owner, LocalDateTime now, LocalDateTime leaseUntil, int limit) {
+        Timestamp nowTs = Timestamp.valueOf(now);
+        return jdbcTemplate.query(CLAIM_DUE_SQL, DUE_TASK, owner, Timestamp.valueOf(leaseUntil), nowTs, nowTs, limit);
+    }
+
+    // Same claim restricted to ids the in-memory index or prefetch queue says are due
+    public List<DueTask> claimTasks(Collection<UUID> ids, String owner, LocalDateTime now, LocalDateTime leaseUntil) {
+        String sql = """
+                UPDATE scheduled_tasks SET status = 'RUNNING', claimed_by = ?, lease_expires_at = ?, updated_at = ?
+                WHERE id IN (
+                    SELECT id FROM scheduled_tasks
+                    WHERE id = ANY(?) AND status = 'PENDING' AND deleted_at IS NULL AND next_execution_time <= ?
+                    FOR UPDATE SKIP LOCKED)
+                """ + RETURNING;
+        Timestamp nowTs = Timestamp.valueOf(now);
+        return jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(sql);
+            ps.setString(1, owner);
+            ps.setTimestamp(2, Timestamp.valueOf(leaseUntil));
+            ps.setTimestamp(3, nowTs);
+            ps.setArray(4, con.createArrayOf("uuid", ids.toArray()));
+            ps.setTimestamp(5, nowTs);
+            return ps;
+        }, DUE_TASK);
+    }
+
+    /** Loads the messages of a whole batch in one query. */
+    public Map<UUID, String> findMessages(Collection<UUID> ids) {
+        Map<UUID, String> messages = new HashMap<>(ids.size() * 2);
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement("SELECT id, message FROM scheduled_tasks WHERE id = ANY(?)");
+            ps.setArray(1, con.createArrayOf("uuid", ids.toArray()));
+            return ps;
+        }, rs -> {
+            messages.put(rs.getObject("id", UUID.class), rs.getString("message"));
+        });
+        return messages;
+    }
+
+    // Undoes a claim that was never run
+    public int release(UUID id, String owner) {
+        return jdbcTemplate.update(
+                "UPDATE scheduled_tasks SET status = 'PENDING', claimed_by = NULL, lease_expires_at = NULL WHERE id = ? AND claimed_by = ?",
+                id, owner);
+    }
+
+    // Hands tasks whose owner died mid-execution back to the pool and returns them for re-queueing
+    public List<TaskDueTime> releaseExpiredLeases(LocalDateTime now) {
+        String sql = """
+                UPDATE scheduled_tasks SET status = 'PENDING', claimed_by = NULL, lease_expires_at = NULL, updated_at = ?
+                WHERE id IN (
+                    SELECT id FROM scheduled_tasks
+                    WHERE status = 'RUNNING' AND lease_expires_at < ?
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING id, next_execution_time
+                """;
+        Timestamp nowTs = Timestamp.valueOf(now);
+        return jdbcTemplate.query(sql,
+                (rs, i) -> new TaskDueTime(rs.getObject("id", UUID.class), toLocalDateTime(rs.getTimestamp("next_execution_time"))),
+                nowTs, nowTs);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp ts) {
+        return ts == null ? null : ts.toLocalDateTime();
+    }
+}
@@ -0,0 +1,47 @@
+package com.scheduler.scheduler_engine.domain.repository;
+
+import com.scheduler.scheduler_engine.domain.entity.TaskStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+
+/**
+ * Forward-only cursor over live tasks for exports. Rows are handed to the callback as they are
+ * fetched, {@code fetchSize} at a time, so memory stays flat however many rows match. The
+ * transaction is what lets the Postgres driver use a server-side cursor instead of buffering the
+ * whole result; the callback may throw to stop early.
+ */
+@Repository
+public class TaskExportRepository {
+
+    private static final String COLUMNS = "id, ssuuid, message, status, execution_count, created_at, updated_at, last_executed_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskExportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional(readOnly = true)
+    public void forEachTask(String ssuuid, TaskStatus status, int fetchSize, RowCallbackHandler handler) {
+        String sql = "SELECT " + COLUMNS + " FROM scheduled_tasks WHERE deleted_at IS NULL"
+                + (ssuuid != null ? " AND ssuuid = ?" : "")
+                + (status != null ? " AND status = ?" : "")
+                + " ORDER BY created_at DESC, id DESC";
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            int i = 1;
+            if (ssuuid != null) {
+                ps.setString(i++, ssuuid);
+            }
+            if (status != null) {
+                ps.setString(i, status.name());
+            }
+            return ps;
+        }, handler);
+    }
+}
@@ -0,0 +1,101 @@
+package com.scheduler.scheduler_engine.domain.repository;
+
+import com.scheduler.scheduler_engine.domain.projection.NewTask;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * JDBC registration path: plain inserts instead of a Hibernate persist and flush per task. With
+ * {@code reWriteBatchedInserts} the Postgres driver turns each batch into multi-row INSERTs.
+ *
+ * Tasks carrying an idempotency key insert with ON CONFLICT DO NOTHING against the partial unique
+ * index, so a duplicate never aborts the transaction; the caller gets back the id of whichever
+ * task holds the key, which is its own only if this insert created it.
+ */
+@Repository
+public class TaskRegistrationRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO scheduled_tasks (id, ssuuid, message, cron_expression, next_execution_time,
+                                         created_at, updated_at, execution_count, status, idempotency_key)
+            VALUES (?, ?, ?, ?, ?, ?, ?, 0, 'PENDING', ?)
+            ON CONFLICT (ssuuid, idempotency_key) WHERE idempotency_key IS NOT NULL AND deleted_at IS NULL DO NOTHING
+            """;
+
+    private static final String FIND_BY_KEYS_SQL = """
+            SELECT t.ssuuid, t.idempotency_key, t.id FROM scheduled_tasks t
+            JOIN unnest(?::text[], ?::text[]) AS k(ssuuid, idempotency_key)
+              ON t.ssuuid = k.ssuuid AND t.idempotency_key = k.idempotency_key
+            WHERE t.deleted_at IS NULL
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskRegistrationRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the whole chunk or nothing. Returns, per task and in order, the id now registered
+     * for it: its own, or for a key that was already taken, the existing task's.
+     */
+    @Transactional
+    public List<UUID> insertAll(List<NewTask> tasks) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, tasks, tasks.size(), (ps, t) -> bind(ps, t, now));
+
+        // Batched rewrites report no per-row counts, so read back who holds each key
+        List<NewTask> keyed = tasks.stream().filter(t -> t.idempotencyKey() != null).toList();
+        Map<String, UUID> holders = keyed.isEmpty() ? Map.of() : findIdsByKeys(keyed);
+        List<UUID> resolved = new ArrayList<>(tasks.size());
+        for (NewTask t : tasks) {
+            resolved.add(t.idempotencyKey() == null ? t.id() : holders.getOrDefault(keyOf(t), t.id()));
+        }
+        return resolved;
+    }
+
+    /** Single-task form of {@link #insertAll}. */
+    @Transactional
+    public UUID insert(NewTask task) {
+        return insertAll(List.of(task)).get(0);
+    }
+
+    private Map<String, UUID> findIdsByKeys(List<NewTask> keyed) {
+        Map<String, UUID> holders = new HashMap<>(keyed.size() * 2);
+        jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(FIND_BY_KEYS_SQL);
+            ps.setArray(1, con.createArrayOf("text", keyed.stream().map(NewTask::ssuuid).toArray()));
+            ps.setArray(2, con.createArrayOf("text", keyed.stream().map(NewTask::idempotencyKey).toArray()));
+            return ps;
+        }, rs -> {
+            holders.put(rs.getString("ssuuid") + '\0' + rs.getString("idempotency_key"), rs.getObject("id", UUID.class));
+        });
+        return holders;
+    }
+
+    private static String keyOf(NewTask t) {
+        return t.ssuuid() + '\0' + t.idempotencyKey();
+    }
+
+    private static void bind(PreparedStatement ps, NewTask t, Timestamp now) throws SQLException {
+        ps.setObject(1, t.id());
+        ps.setString(2, t.ssuuid());
+        ps.setString(3, t.message());
+        ps.setString(4, t.cronExpression());
+        ps.setTimestamp(5, t.nextExecutionTime() == null ? null : Timestamp.valueOf(t.nextExecutionTime()));
+        ps.setTimestamp(6, now);
+        ps.setTimestamp(7, now);
+        ps.setString(8, t.idempotencyKey());
+    }
+}
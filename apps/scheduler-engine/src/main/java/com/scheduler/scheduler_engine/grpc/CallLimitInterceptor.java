@@ -0,0 +1,113 @@
+package com.scheduler.scheduler_engine.grpc;
+
+import com.scheduler.scheduler_engine.config.SchedulerConfig;
+import io.grpc.Context;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-method admission for gRPC calls. A call past its method's limit fails fast with
+ * RESOURCE_EXHAUSTED instead of queueing behind slow ones, and a call whose client has gone away
+ * (cancelled, or deadline passed) while it waited for a handler thread is dropped before the
+ * handler runs, so abandoned requests stop consuming capacity. A permit is held until the call
+ * is closed or cancelled, which covers streaming calls for their whole lifetime.
+ */
+@GrpcGlobalServerInterceptor
+public class CallLimitInterceptor implements ServerInterceptor {
+
+    private final SchedulerConfig.GrpcConfig config;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    public CallLimitInterceptor(SchedulerConfig config, MeterRegistry meterRegistry) {
+        this.config = config.getGrpc();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        String method = call.getMethodDescriptor().getBareMethodName();
+        Context context = Context.current();
+        if (context.isCancelled()) {
+            count("scheduler.grpc.abandoned", method);
+            call.close(Status.DEADLINE_EXCEEDED.withDescription("Deadline passed before the call started"), new Metadata());
+            return new ServerCall.Listener<>() {};
+        }
+
+        Semaphore limit = permits.computeIfAbsent(method,
+                m -> new Semaphore(config.getMaxConcurrentCalls().getOrDefault(m, config.getDefaultMaxConcurrentCalls())));
+        if (!limit.tryAcquire()) {
+            count("scheduler.grpc.rejected", method);
+            call.close(Status.RESOURCE_EXHAUSTED.withDescription("Too many concurrent " + method + " calls"), new Metadata());
+            return new ServerCall.Listener<>() {};
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                limit.release();
+            }
+        };
+        ServerCall<ReqT, RespT> tracked = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                release.run();
+                super.close(status, trailers);
+            }
+        };
+
+        ServerCall.Listener<ReqT> delegate;
+        try {
+            delegate = next.startCall(tracked, headers);
+        } catch (RuntimeException e) {
+            release.run();
+            throw e;
+        }
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(delegate) {
+            // Unary and server-streaming handlers run here; skip them if nobody is waiting
+            @Override
+            public void onHalfClose() {
+                if (context.isCancelled()) {
+                    count("scheduler.grpc.abandoned", method);
+                    release.run();
+                    return;
+                }
+                super.onHalfClose();
+            }
+
+            @Override
+            public void onCancel() {
+                release.run();
+                super.onCancel();
+            }
+
+            @Override
+            public void onComplete() {
+                release.run();
+                super.onComplete();
+            }
+        };
+    }
+
+    private void count(String name, String method) {
+        Counter.builder(name)
+                .description("gRPC calls not run because of admission limits or departed clients")
+                .tag("method", method)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,62 @@
+package com.scheduler.scheduler_engine.grpc;
+
+import com.scheduler.scheduler_engine.config.SchedulerConfig;
+import jakarta.annotation.PreDestroy;
+import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs gRPC handlers on an executor sized for blocking JPA work, so slow database calls queue
+ * there instead of occupying the transport threads. How many calls each method may have in
+ * progress is capped by {@link CallLimitInterceptor}, which is what bounds the executor's queue.
+ *
+ * The executor is deliberately not a bean: an Executor in the context would make Boot back off
+ * from creating {@code applicationTaskExecutor}, which {@code @Async} and others rely on.
+ */
+@Configuration
+public class GrpcServerExecutorConfig {
+
+    private ExecutorService handlerExecutor;
+
+    @Bean
+    public GrpcServerConfigurer grpcHandlerExecutorConfigurer(SchedulerConfig config) {
+        SchedulerConfig.GrpcConfig grpc = config.getGrpc();
+        if (grpc.getExecutorMode() == SchedulerConfig.GrpcExecutorMode.DEFAULT) {
+            return serverBuilder -> { };
+        }
+        handlerExecutor = createExecutor(grpc);
+        return serverBuilder -> serverBuilder.executor(handlerExecutor);
+    }
+
+    private static ExecutorService createExecutor(SchedulerConfig.GrpcConfig grpc) {
+        if (grpc.getExecutorMode() == SchedulerConfig.GrpcExecutorMode.PLATFORM) {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                    grpc.getExecutorThreads(), grpc.getExecutorThreads(), 60L, TimeUnit.SECONDS,
+                    // Unbounded: a rejected callback would wedge its call, and running it inline
+                    // would block a transport thread; admission is the interceptor's job
+                    new LinkedBlockingQueue<>(),
+                    r -> {
+                        Thread t = new Thread(r, "grpc-handler");
+                        t.setDaemon(true);
+                        return t;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("grpc-handler-", 0).factory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (handlerExecutor != null) {
+            handlerExecutor.shutdown();
+        }
+    }
+}
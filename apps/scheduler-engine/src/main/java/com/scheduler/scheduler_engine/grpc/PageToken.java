@@ -0,0 +1,50 @@
+package com.scheduler.scheduler_engine.grpc;
+
+import com.scheduler.scheduler_engine.domain.entity.ScheduledTask;
+import com.scheduler.scheduler_engine.domain.entity.TaskStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Keyset cursor for ListTasks: the (createdAt, id) of the last task on a page, plus a digest of
+ * the filters it was issued for, so a token replayed with other filters can be refused instead of
+ * seeking into a different result set. Clients treat the encoded form as opaque.
+ */
+record PageToken(LocalDateTime createdAt, UUID id, String filters) {
+
+    static PageToken after(ScheduledTask last, String filters) {
+        return new PageToken(last.getCreatedAt(), last.getId(), filters);
+    }
+
+    /** Digest of a ListTasks filter set; null filters are "no filter". */
+    static String filters(String ssuuid, TaskStatus status) {
+        CRC32 crc = new CRC32();
+        crc.update((ssuuid == null ? "" : ssuuid).getBytes(StandardCharsets.UTF_8));
+        crc.update(0);
+        crc.update((status == null ? "" : status.name()).getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+    String encode() {
+        String raw = createdAt + "|" + id + "|" + filters;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** @throws IllegalArgumentException if the token was not produced by {@link #encode()} */
+    static PageToken decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] parts = raw.split("\\|", -1);
+        if (parts.length != 3 || parts[2].isEmpty()) {
+            throw new IllegalArgumentException("Malformed page token");
+        }
+        try {
+            return new PageToken(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]), parts[2]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed page token", e);
+        }
+    }
+}
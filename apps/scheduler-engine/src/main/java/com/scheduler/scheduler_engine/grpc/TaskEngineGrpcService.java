@@ -1,23 +1,50 @@
 package com.scheduler.scheduler_engine.grpc;
 
+import com.scheduler.scheduler_engine.config.SchedulerConfig;
 import com.scheduler.scheduler_engine.domain.entity.ScheduledTask;
+import com.scheduler.scheduler_engine.domain.entity.UuidV7;
+import com.scheduler.scheduler_engine.domain.projection.NewTask;
 import com.scheduler.scheduler_engine.domain.repository.ScheduledTaskRepository;
+import com.scheduler.scheduler_engine.domain.repository.TaskExportRepository;
+import com.scheduler.scheduler_engine.domain.repository.TaskRegistrationRepository;
+import com.scheduler.scheduler_engine.scheduling.TaskSchedulingEvent;
+import com.scheduler.scheduler_engine.service.IdempotencyCache;
+import com.scheduler.scheduler_engine.service.TaskExecutionService;
+import com.scheduler.scheduler_engine.service.TaskStatusCounters;
 import com.scheduler.scheduler_engine.service.TaskValidationService;
 import com.scheduler.scheduler_engine.proto.v1.*;
 import com.scheduler.scheduler_engine.logger.AppLogger;
 
 import com.scheduler.scheduler_engine.domain.entity.TaskStatus;
 import java.time.format.DateTimeFormatter;
+import io.grpc.Context;
+import io.grpc.Deadline;
 import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.server.service.GrpcService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 
 
@@ -25,14 +52,36 @@ import java.util.UUID;
 
 public class TaskEngineGrpcService extends TaskEngineGrpc.TaskEngineImplBase {
 
+    private static final String DEFAULT_CRON = "*/5 * * * * *";
+
     private final AppLogger log;
     private final ScheduledTaskRepository scheduledTaskRepository;
+    private final TaskExportRepository exportRepository;
+    private final TaskRegistrationRepository registrationRepository;
     private final TaskValidationService validationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskStatusCounters counters;
+    private final IdempotencyCache idempotencyCache;
+    private final SchedulerConfig.GrpcConfig grpcConfig;
+    // Exports hold a DB connection for their whole duration, so only a few may run at once
+    private final Semaphore streamPermits;
+    private final ExecutorService streamExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-export-", 0).factory());
 
-    public TaskEngineGrpcService(AppLogger log, ScheduledTaskRepository scheduledTaskRepository, TaskValidationService validationService) {
+    public TaskEngineGrpcService(AppLogger log, ScheduledTaskRepository scheduledTaskRepository, TaskExportRepository exportRepository,
+                                 TaskRegistrationRepository registrationRepository,
+                                 TaskValidationService validationService, ApplicationEventPublisher eventPublisher,
+                                 TaskStatusCounters counters, IdempotencyCache idempotencyCache, SchedulerConfig config) {
         this.log = log;
         this.scheduledTaskRepository = scheduledTaskRepository;
+        this.exportRepository = exportRepository;
+        this.registrationRepository = registrationRepository;
         this.validationService = validationService;
+        this.eventPublisher = eventPublisher;
+        this.counters = counters;
+        this.idempotencyCache = idempotencyCache;
+        this.grpcConfig = config.getGrpc();
+        this.streamPermits = new Semaphore(grpcConfig.getMaxConcurrentStreams());
     }
 
    
@@ -40,13 +89,32 @@ public class TaskEngineGrpcService extends TaskEngineGrpc.TaskEngineImplBase {
     @Transactional
     public void registerTask(RegisterTaskRequest request, StreamObserver<RegisterTaskResponse> responseObserver) {
         try {
+            String idempotencyKey = request.getIdempotencyKey().isBlank() ? null : request.getIdempotencyKey();
+            if (idempotencyKey != null) {
+                // A retry of a registration this instance has already seen: no validation, no insert
+                UUID known = idempotencyCache.get(request.getSsuuid(), idempotencyKey);
+                if (known != null) {
+                    respond(responseObserver, RegisterTaskResponse.newBuilder().setTaskId(known.toString()).build());
+                    return;
+                }
+            }
+
             validationService.validateTaskCreation(request.getSsuuid(), request.getMessage());
+            validationService.validateIdempotencyKey(idempotencyKey);
             
-            String cronExpression = "*/5 * * * * *";
+            String cronExpression = DEFAULT_CRON;
 
             log.info("RegisterTask: ssuuid={}", request.getSsuuid());
             validationService.auditTaskOperation("REGISTER", request.getSsuuid(), "Task registration attempt");
 
+            if (abandoned(responseObserver)) {
+                return;
+            }
+            if (idempotencyKey != null) {
+                registerIdempotent(request, idempotencyKey, responseObserver);
+                return;
+            }
+
             ScheduledTask toSave = new ScheduledTask(
                     request.getSsuuid(),
                     request.getMessage(),
@@ -57,6 +125,9 @@ public class TaskEngineGrpcService extends TaskEngineGrpc.TaskEngineImplBase {
             toSave.calculateNextExecutionTime();
 
             ScheduledTask saved = scheduledTaskRepository.save(toSave);
+            counters.created(saved.getStatus(), 1);
+            // Delivered to the scheduler after commit
+            eventPublisher.publishEvent(TaskSchedulingEvent.scheduled(saved.getId(), saved.getNextExecutionTime()));
             log.info("\u001B[32m✅ RegisterTask created: \u001B[36mtaskId={}\u001B[0m", saved.getId());
             validationService.auditTaskOperation("REGISTER_SUCCESS", request.getSsuuid(), "Task created: " + saved.getId());
             respond(responseObserver, RegisterTaskResponse.newBuilder().setTaskId(saved.getId().toString()).build());
@@ -72,6 +143,149 @@ public class TaskEngineGrpcService extends TaskEngineGrpc.TaskEngineImplBase {
         }
     }
 
+    // Keyed registration goes through the JDBC insert so a duplicate key resolves instead of failing
+    private void registerIdempotent(RegisterTaskRequest request, String idempotencyKey,
+                                    StreamObserver<RegisterTaskResponse> responseObserver) {
+        NewTask task = new NewTask(UuidV7.next(), request.getSsuuid(), request.getMessage(), DEFAULT_CRON,
+                ScheduledTask.nextExecutionTimeFor(DEFAULT_CRON), idempotencyKey);
+        UUID taskId = registrationRepository.insert(task);
+        if (taskId.equals(task.id())) {
+            counters.created(TaskStatus.PENDING, 1);
+            eventPublisher.publishEvent(TaskSchedulingEvent.scheduled(taskId, task.nextExecutionTime()));
+            log.info("\u001B[32m✅ RegisterTask created: \u001B[36mtaskId={}\u001B[0m", taskId);
+            validationService.auditTaskOperation("REGISTER_SUCCESS", request.getSsuuid(), "Task created: " + taskId);
+        } else {
+            log.info("RegisterTask deduplicated: ssuuid={}, taskId={}", request.getSsuuid(), taskId);
+            validationService.auditTaskOperation("REGISTER_DUPLICATE", request.getSsuuid(), "Existing task: " + taskId);
+        }
+        idempotencyCache.put(request.getSsuuid(), idempotencyKey, taskId);
+        respond(responseObserver, RegisterTaskResponse.newBuilder().setTaskId(taskId.toString()).build());
+    }
+
+    /**
+     * Registers a stream of tasks. Each request is validated as it arrives and valid ones are
+     * inserted in JDBC batches of batchRegisterChunkSize, each chunk in its own transaction, so a
+     * failed chunk rejects only its own tasks. The single response reports every request by index.
+     */
+    @Override
+    public StreamObserver<RegisterTaskRequest> batchRegisterTasks(StreamObserver<BatchRegisterTasksResponse> responseObserver) {
+        return new BatchRegistration(responseObserver);
+    }
+
+    private final class BatchRegistration implements StreamObserver<RegisterTaskRequest> {
+        private final StreamObserver<BatchRegisterTasksResponse> responseObserver;
+        private final BatchRegisterTasksResponse.Builder response = BatchRegisterTasksResponse.newBuilder();
+        private final List<NewTask> chunk = new ArrayList<>();
+        private final List<Integer> chunkIndexes = new ArrayList<>();
+        private final int chunkSize = grpcConfig.getBatchRegisterChunkSize();
+        private int index;
+        private int registered;
+        private int rejected;
+        private boolean done;
+
+        BatchRegistration(StreamObserver<BatchRegisterTasksResponse> responseObserver) {
+            this.responseObserver = responseObserver;
+        }
+
+        @Override
+        public void onNext(RegisterTaskRequest request) {
+            if (done) {
+                return;
+            }
+            int i = index++;
+            if (i >= grpcConfig.getMaxBatchRegisterSize()) {
+                // Earlier chunks are committed, so keep their results and reject only the overflow
+                reject(i, "Batch exceeds " + grpcConfig.getMaxBatchRegisterSize() + " tasks");
+                return;
+            }
+            String idempotencyKey = request.getIdempotencyKey().isBlank() ? null : request.getIdempotencyKey();
+            if (idempotencyKey != null) {
+                UUID known = idempotencyCache.get(request.getSsuuid(), idempotencyKey);
+                if (known != null) {
+                    response.addResults(RegisterTaskResult.newBuilder().setIndex(i).setTaskId(known.toString()));
+                    registered++;
+                    return;
+                }
+            }
+            try {
+                validationService.validateTaskCreation(request.getSsuuid(), request.getMessage());
+                validationService.validateIdempotencyKey(idempotencyKey);
+            } catch (SecurityException e) {
+                reject(i, e.getMessage());
+                return;
+            }
+            chunk.add(new NewTask(UuidV7.next(), request.getSsuuid(), request.getMessage(), DEFAULT_CRON,
+                    ScheduledTask.nextExecutionTimeFor(DEFAULT_CRON), idempotencyKey));
+            chunkIndexes.add(i);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            // Chunks already inserted stay registered; the client learns nothing of them
+            done = true;
+            log.warn("BatchRegisterTasks aborted by client after {} requests, {} registered: {}", index, registered, t.getMessage());
+        }
+
+        @Override
+        public void onCompleted() {
+            if (done) {
+                return;
+            }
+            done = true;
+            flush();
+            validationService.auditTaskOperation("BATCH_REGISTER", "-",
+                    "Batch registration: registered=" + registered + ", rejected=" + rejected);
+            log.info("BatchRegisterTasks completed: registered={}, rejected={}", registered, rejected);
+            respond(responseObserver, response.setRegistered(registered).setRejected(rejected).build());
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            if (Context.current().isCancelled()) {
+                // Client is gone; nothing will read the results, so do not insert the rest
+                done = true;
+                chunk.clear();
+                chunkIndexes.clear();
+                return;
+            }
+            try {
+                List<UUID> taskIds = registrationRepository.insertAll(chunk);
+                int created = 0;
+                for (int k = 0; k < chunk.size(); k++) {
+                    NewTask task = chunk.get(k);
+                    UUID taskId = taskIds.get(k);
+                    response.addResults(RegisterTaskResult.newBuilder().setIndex(chunkIndexes.get(k)).setTaskId(taskId.toString()));
+                    if (task.idempotencyKey() != null) {
+                        idempotencyCache.put(task.ssuuid(), task.idempotencyKey(), taskId);
+                    }
+                    // A key that was already taken resolves to the existing task, which is already scheduled
+                    if (taskId.equals(task.id())) {
+                        eventPublisher.publishEvent(TaskSchedulingEvent.scheduled(taskId, task.nextExecutionTime()));
+                        created++;
+                    }
+                }
+                registered += chunk.size();
+                counters.created(TaskStatus.PENDING, created);
+            } catch (Exception e) {
+                log.error("BatchRegisterTasks chunk of {} failed: {}", chunk.size(), e.getMessage(), e);
+                chunkIndexes.forEach(i -> reject(i, "Failed to register task"));
+            } finally {
+                chunk.clear();
+                chunkIndexes.clear();
+            }
+        }
+
+        private void reject(int i, String error) {
+            response.addResults(RegisterTaskResult.newBuilder().setIndex(i).setError(error));
+            rejected++;
+        }
+    }
+
     
     @Override
     @Transactional
@@ -91,6 +305,9 @@ public class TaskEngineGrpcService extends TaskEngineGrpc.TaskEngineImplBase {
                 return;
             }
 
+            if (abandoned(responseObserver)) {
+                return;
+            }
             var taskOpt = scheduledTaskRepository.findById(taskId);
 
             if (taskOpt.isEmpty()) {
@@ -100,8 +317,12 @@ public class TaskEngineGrpcService extends TaskEngineGrpc.TaskEngineImplBase {
             }
 
             var task = taskOpt.get();
+            TaskStatus previousStatus = task.getStatus();
             task.markAsDeleted();
             scheduledTaskRepository.save(task);
+            eventPublisher.publishEvent(TaskSchedulingEvent.cancelled(taskId));
+            counters.transition(previousStatus, TaskStatus.DELETED, 1);
+            idempotencyCache.invalidate(task.getSsuuid(), task.getIdempotencyKey());
 
             log.info("DeleteTask: soft-deleted taskId={}", rawId);
             respond(responseObserver, DeleteTaskResponse.newBuilder().setDeleted(true).build());
@@ -124,6 +345,21 @@ public class TaskEngineGrpcService extends TaskEngineGrpc.TaskEngineImplBase {
     }
 
    
+    /**
+     * True, after failing the call, if the client has cancelled or its deadline has passed.
+     * Checked before each database step so abandoned requests stop there.
+     */
+    private static boolean abandoned(StreamObserver<?> obs) {
+        Context context = Context.current();
+        if (!context.isCancelled()) {
+            return false;
+        }
+        Deadline deadline = context.getDeadline();
+        Status status = deadline != null && deadline.isExpired() ? Status.DEADLINE_EXCEEDED : Status.CANCELLED;
+        obs.onError(status.withDescription("Client no longer waiting").asRuntimeException());
+        return true;
+    }
+
     private static <T> void respond(StreamObserver<T> obs, T msg) {
         obs.onNext(msg);
         obs.onCompleted();
@@ -148,26 +384,63 @@ public class TaskEngineGrpcService extends TaskEngineGrpc.TaskEngineImplBase {
             }
 
             String ssuuidFilter = request.getSsuuid().isBlank() ? null : request.getSsuuid();
+            String filters = PageToken.filters(ssuuidFilter, statusFilter);
+            boolean byToken = !request.getPageToken().isBlank();
 
-            var pageResult = scheduledTaskRepository.findAllPaginated(ssuuidFilter, statusFilter, pageable);
+            if (abandoned(responseObserver)) {
+                return;
+            }
+
+            // A page token seeks past the previous page; otherwise fall back to page/offset
+            Slice<ScheduledTask> slice;
+            long total = 0;
+            if (byToken) {
+                PageToken cursor;
+                try {
+                    cursor = PageToken.decode(request.getPageToken());
+                } catch (IllegalArgumentException e) {
+                    responseObserver.onError(Status.INVALID_ARGUMENT.withDescription("Invalid page token").asRuntimeException());
+                    return;
+                }
+                if (!cursor.filters().equals(filters)) {
+                    responseObserver.onError(Status.INVALID_ARGUMENT
+                            .withDescription("Page token was issued for different filters").asRuntimeException());
+                    return;
+                }
+                String statusName = statusFilter == null ? null : statusFilter.name();
+                slice = ssuuidFilter != null
+                        ? scheduledTaskRepository.findTenantSliceAfter(ssuuidFilter, statusName,
+                                cursor.createdAt(), cursor.id(), PageRequest.of(0, size))
+                        : scheduledTaskRepository.findSliceAfter(statusName,
+                                cursor.createdAt(), cursor.id(), PageRequest.of(0, size));
+                if (!request.getSkipTotal()) {
+                    if (abandoned(responseObserver)) {
+                        return;
+                    }
+                    total = scheduledTaskRepository.countFiltered(ssuuidFilter, statusFilter);
+                }
+            } else if (request.getSkipTotal()) {
+                slice = scheduledTaskRepository.findSlice(ssuuidFilter, statusFilter, pageable);
+            } else {
+                Page<ScheduledTask> pageResult = scheduledTaskRepository.findAllPaginated(ssuuidFilter, statusFilter, pageable);
+                total = pageResult.getTotalElements();
+                slice = pageResult;
+            }
 
             ListTasksResponse.Builder resp = ListTasksResponse.newBuilder()
-                    .setTotal(pageResult.getTotalElements())
-                    .setPage(page)
+                    .setTotal(total)
                     .setPageSize(size)
-                    .setHasNext(pageResult.hasNext());
+                    .setHasNext(slice.hasNext());
+            // A token page has no index; page stays 0
+            if (!byToken) {
+                resp.setPage(page);
+            }
 
-            for (ScheduledTask t : pageResult.getContent()) {
-                resp.addTasks(TaskItem.newBuilder()
-                        .setId(t.getId().toString())
-                        .setSsuuid(t.getSsuuid())
-                        .setMessage(t.getMessage())
-                        .setStatus(t.getStatus().name())
-                        .setExecutionCount(t.getExecutionCount())
-                        .setCreatedAt(formatDateTime(t.getCreatedAt()))
-                        .setUpdatedAt(formatDateTime(t.getUpdatedAt()))
-                        .setLastExecutedAt(formatDateTime(t.getLastExecutedAt()))
-                        .build());
+            for (ScheduledTask t : slice.getContent()) {
+                resp.addTasks(toTaskItem(t));
+            }
+            if (slice.hasNext()) {
+                resp.setNextPageToken(PageToken.after(slice.getContent().get(slice.getNumberOfElements() - 1), filters).encode());
             }
 
             respond(responseObserver, resp.build());
@@ -177,9 +450,170 @@ public class TaskEngineGrpcService extends TaskEngineGrpc.TaskEngineImplBase {
         }
     }
 
+    // Served from in-memory counters; no query runs here
+    @Override
+    public void getStats(GetStatsRequest request, StreamObserver<GetStatsResponse> responseObserver) {
+        try {
+            TaskExecutionService.TaskExecutionStats stats = counters.snapshot();
+            respond(responseObserver, GetStatsResponse.newBuilder()
+                    .setPending(stats.getPendingCount())
+                    .setRunning(stats.getRunningCount())
+                    .setCompleted(stats.getCompletedCount())
+                    .setFailed(stats.getFailedCount())
+                    .setTotal(stats.getTotalCount())
+                    .setReconciledAt(formatDateTime(counters.reconciledAt()))
+                    .build());
+        } catch (Exception e) {
+            log.error("GetStats error: {}", e.getMessage(), e);
+            responseObserver.onError(Status.INTERNAL.withDescription("Failed to get stats").withCause(e).asRuntimeException());
+        }
+    }
+
+    /**
+     * Streams every matching task straight off a database cursor. The export runs on its own
+     * thread and only writes while the transport is ready, so a slow client holds back the cursor
+     * rather than filling server memory; a cancelled call stops the query.
+     */
+    @Override
+    public void streamTasks(StreamTasksRequest request, StreamObserver<TaskItem> responseObserver) {
+        TaskStatus statusFilter = null;
+        if (!request.getStatus().isBlank()) {
+            try {
+                statusFilter = TaskStatus.valueOf(request.getStatus());
+            } catch (IllegalArgumentException e) {
+                responseObserver.onError(Status.INVALID_ARGUMENT.withDescription("Invalid status filter").asRuntimeException());
+                return;
+            }
+        }
+        if (!streamPermits.tryAcquire()) {
+            responseObserver.onError(Status.RESOURCE_EXHAUSTED.withDescription("Too many concurrent exports").asRuntimeException());
+            return;
+        }
+
+        String ssuuidFilter = request.getSsuuid().isBlank() ? null : request.getSsuuid();
+        ServerCallStreamObserver<TaskItem> call = (ServerCallStreamObserver<TaskItem>) responseObserver;
+        ReadyGate gate = new ReadyGate();
+        // Handlers must be registered before this method returns
+        call.setOnReadyHandler(gate::signal);
+        call.setOnCancelHandler(gate::cancel);
+
+        TaskStatus status = statusFilter;
+        try {
+            streamExecutor.execute(() -> export(ssuuidFilter, status, call, gate));
+        } catch (RuntimeException e) {
+            streamPermits.release();
+            responseObserver.onError(Status.UNAVAILABLE.withDescription("Export rejected").asRuntimeException());
+        }
+    }
+
+    private void export(String ssuuid, TaskStatus status, ServerCallStreamObserver<TaskItem> call, ReadyGate gate) {
+        long[] sent = {0};
+        try {
+            exportRepository.forEachTask(ssuuid, status, grpcConfig.getStreamFetchSize(), rs -> {
+                gate.awaitReady(call);
+                call.onNext(toTaskItem(rs));
+                sent[0]++;
+            });
+            call.onCompleted();
+            log.info("StreamTasks completed: ssuuid={}, tasks={}", ssuuid, sent[0]);
+        } catch (ExportCancelledException e) {
+            log.info("StreamTasks cancelled by client: ssuuid={}, tasks={}", ssuuid, sent[0]);
+        } catch (Exception e) {
+            log.error("StreamTasks error: ssuuid={}, error={}", ssuuid, e.getMessage(), e);
+            if (!call.isCancelled()) {
+                call.onError(Status.INTERNAL.withDescription("Failed to stream tasks").withCause(e).asRuntimeException());
+            }
+        } finally {
+            streamPermits.release();
+        }
+    }
+
+    private static TaskItem toTaskItem(ResultSet rs) throws SQLException {
+        return TaskItem.newBuilder()
+                .setId(rs.getObject("id", UUID.class).toString())
+                .setSsuuid(rs.getString("ssuuid"))
+                .setMessage(rs.getString("message"))
+                .setStatus(rs.getString("status"))
+                .setExecutionCount(rs.getInt("execution_count"))
+                .setCreatedAt(formatDateTime(rs.getObject("created_at", LocalDateTime.class)))
+                .setUpdatedAt(formatDateTime(rs.getObject("updated_at", LocalDateTime.class)))
+                .setLastExecutedAt(formatDateTime(rs.getObject("last_executed_at", LocalDateTime.class)))
+                .build();
+    }
+
+    // Parks the export thread until the transport can take another message or the call ends.
+    // A lock rather than a monitor, since Object.wait pins a virtual thread to its carrier on JDK 21.
+    private static final class ReadyGate {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private boolean cancelled;
+
+        void signal() {
+            lock.lock();
+            try {
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void cancel() {
+            lock.lock();
+            try {
+                cancelled = true;
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void awaitReady(ServerCallStreamObserver<?> call) {
+            lock.lock();
+            try {
+                while (!cancelled && !call.isReady()) {
+                    try {
+                        changed.await(1, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new ExportCancelledException();
+                    }
+                }
+                if (cancelled) {
+                    throw new ExportCancelledException();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class ExportCancelledException extends RuntimeException {
+        ExportCancelledException() {
+            super(null, null, false, false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streamExecutor.shutdownNow();
+    }
+
+    static TaskItem toTaskItem(ScheduledTask t) {
+        return TaskItem.newBuilder()
+                .setId(t.getId().toString())
+                .setSsuuid(t.getSsuuid())
+                .setMessage(t.getMessage())
+                .setStatus(t.getStatus().name())
+                .setExecutionCount(t.getExecutionCount())
+                .setCreatedAt(formatDateTime(t.getCreatedAt()))
+                .setUpdatedAt(formatDateTime(t.getUpdatedAt()))
+                .setLastExecutedAt(formatDateTime(t.getLastExecutedAt()))
+                .build();
+    }
+
     private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
     
-    private static String formatDateTime(java.time.LocalDateTime time) {
+    private static String formatDateTime(LocalDateTime time) {
         if (time == null) return "";
         return time.format(ISO_FORMATTER);
     }
@@ -0,0 +1,208 @@
+package com.scheduler.scheduler_engine.health;
+
+import com.scheduler.scheduler_engine.config.SchedulerConfig;
+import com.scheduler.scheduler_engine.logger.AppLogger;
+import com.scheduler.scheduler_engine.proto.v1.TaskEngineGrpc;
+import com.scheduler.scheduler_engine.service.AdaptiveConcurrencyLimiter;
+import com.scheduler.scheduler_engine.service.InFlightRegistry;
+import io.grpc.health.v1.HealthCheckResponse.ServingStatus;
+import io.grpc.protobuf.services.HealthStatusManager;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether this instance should take new work, from execution slot usage, Hikari
+ * connection wait and how late due tasks start. Any signal at its high mark flips the instance to shedding;
+ * it serves again only once every signal is back at its low mark, so it does not flap around a
+ * single threshold. The decision goes out as the standard gRPC health status, as the actuator
+ * readiness state, and through this indicator ({@code load}) with the sampled values.
+ */
+@Component("load")
+public class LoadMonitor implements HealthIndicator {
+
+    // The smoothed start lag is dropped once nothing has started for this long, unless that is
+    // because every slot is taken
+    private static final long LAG_STALE_MS = 10_000L;
+
+    private final InFlightRegistry inFlight;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final SchedulerConfig.HealthConfig config;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<HealthStatusManager> grpcHealth;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AppLogger log;
+    private ScheduledExecutorService sampler;
+
+    private volatile boolean shedding;
+    private volatile Sample last = new Sample(0.0, 0.0, 0.0);
+    // Hikari acquire timer totals at the previous sample
+    private double acquireCount;
+    private double acquireNanos;
+
+    /** One reading of the three signals. */
+    record Sample(double queueRatio, double poolWaitMs, double lagMs) {
+    }
+
+    public LoadMonitor(InFlightRegistry inFlight,
+                       AdaptiveConcurrencyLimiter limiter,
+                       SchedulerConfig config,
+                       MeterRegistry meterRegistry,
+                       ObjectProvider<HealthStatusManager> grpcHealth,
+                       ApplicationEventPublisher eventPublisher,
+                       AppLogger log) {
+        this.inFlight = inFlight;
+        this.limiter = limiter;
+        this.config = config.getHealth();
+        this.meterRegistry = meterRegistry;
+        this.grpcHealth = grpcHealth;
+        this.eventPublisher = eventPublisher;
+        this.log = log;
+
+        Gauge.builder("scheduler.health.shedding", this, m -> m.shedding ? 1 : 0)
+                .description("1 while this instance reports itself not serving because of load")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        // Registers the service with the health service, which otherwise answers NOT_FOUND for it
+        publishGrpc(ServingStatus.SERVING);
+        if (!config.isEnabled()) {
+            return;
+        }
+        sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "load-monitor");
+            t.setDaemon(true);
+            return t;
+        });
+        sampler.scheduleWithFixedDelay(() -> {
+            try {
+                update(sample());
+            } catch (Exception e) {
+                log.error("Load sample failed: {}", e.getMessage());
+            }
+        }, config.getSampleIntervalMs(), config.getSampleIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isShedding() {
+        return shedding;
+    }
+
+    @Override
+    public Health health() {
+        Sample s = last;
+        Health.Builder builder = shedding ? Health.outOfService() : Health.up();
+        return builder
+                .withDetail("shedding", shedding)
+                .withDetail("degraded", !shedding && !allLow(s))
+                .withDetail("queueRatio", s.queueRatio())
+                .withDetail("poolWaitMs", s.poolWaitMs())
+                .withDetail("lagMs", s.lagMs())
+                .build();
+    }
+
+    Sample sample() {
+        // The adaptive limit is normally far below the registry's capacity, so measure against both
+        double slotRatio = 1.0 - (double) inFlight.freeSlots() / Math.max(1, inFlight.capacity());
+        double limitRatio = (double) limiter.inFlight() / Math.max(1, limiter.limit());
+        boolean blocked = inFlight.freeSlots() == 0 || limiter.available() == 0;
+        return new Sample(Math.max(slotRatio, limitRatio), poolWaitMs(), lagMs(blocked));
+    }
+
+    // With every slot taken nothing starts, so the wait since the last start is the lag
+    private double lagMs(boolean blocked) {
+        long sinceStart = inFlight.millisSinceLastStart();
+        if (blocked) {
+            return Math.max(inFlight.startLagMillis(), sinceStart);
+        }
+        return sinceStart > LAG_STALE_MS ? 0.0 : inFlight.startLagMillis();
+    }
+
+    /** Applies one sample; returns true if it changed whether this instance is shedding. */
+    boolean update(Sample s) {
+        last = s;
+        boolean next = shedding ? !allLow(s) : anyHigh(s);
+        if (next == shedding) {
+            return false;
+        }
+        shedding = next;
+        if (next) {
+            log.warn("Load high, reporting NOT_SERVING: queue {}, pool wait {}ms, lag {}ms",
+                    String.format("%.2f", s.queueRatio()), Math.round(s.poolWaitMs()), Math.round(s.lagMs()));
+        } else {
+            log.info("Load back to normal, reporting SERVING");
+        }
+        publish(next);
+        return true;
+    }
+
+    private boolean anyHigh(Sample s) {
+        return s.queueRatio() >= config.getQueueHighRatio()
+                || s.poolWaitMs() >= config.getPoolWaitHighMs()
+                || s.lagMs() >= config.getLagHighMs();
+    }
+
+    private boolean allLow(Sample s) {
+        return s.queueRatio() <= config.getQueueLowRatio()
+                && s.poolWaitMs() <= config.getPoolWaitLowMs()
+                && s.lagMs() <= config.getLagLowMs();
+    }
+
+    private void publish(boolean shed) {
+        publishGrpc(shed ? ServingStatus.NOT_SERVING : ServingStatus.SERVING);
+        AvailabilityChangeEvent.publish(eventPublisher, this,
+                shed ? ReadinessState.REFUSING_TRAFFIC : ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    private void publishGrpc(ServingStatus status) {
+        grpcHealth.ifAvailable(manager -> {
+            manager.setStatus(HealthStatusManager.SERVICE_NAME_ALL_SERVICES, status);
+            manager.setStatus(TaskEngineGrpc.SERVICE_NAME, status);
+        });
+    }
+
+    /**
+     * Mean Hikari connection wait since the previous sample. With nothing acquired in between but
+     * threads still waiting, the pool is stuck, which counts as a full interval of waiting.
+     */
+    private double poolWaitMs() {
+        double count = 0;
+        double nanos = 0;
+        for (Timer timer : meterRegistry.find("hikaricp.connections.acquire").timers()) {
+            count += timer.count();
+            nanos += timer.totalTime(TimeUnit.NANOSECONDS);
+        }
+        double pending = meterRegistry.find("hikaricp.connections.pending").gauges().stream()
+                .mapToDouble(Gauge::value).sum();
+
+        double acquired = count - acquireCount;
+        double waited = nanos - acquireNanos;
+        acquireCount = count;
+        acquireNanos = nanos;
+        if (acquired > 0) {
+            return waited / acquired / 1_000_000.0;
+        }
+        return pending > 0 ? config.getSampleIntervalMs() : 0.0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+        }
+    }
+}
@@ -1,38 +1,49 @@
 package com.scheduler.scheduler_engine.scheduling;
 
 import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.Month;
+import java.time.Year;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.Objects;
 
 
 public final class CronExpression {
+    // Every field combination repeats within one 400-year Gregorian cycle
+    private static final int MAX_SEARCH_YEARS = 400;
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    private static final String[] MONTH_NAMES = {
+            null, "JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"
+    };
+    private static final String[] DAY_NAMES = {"SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT"};
+
     private final FieldMatcher seconds;
     private final FieldMatcher minutes;
     private final FieldMatcher hours;
-    private final FieldMatcher dayOfMonth;
+    private final DayMatcher days;
     private final FieldMatcher month;
-    private final FieldMatcher dayOfWeek;
     private final ZoneId zoneId;
+    private final EpochZone zone;
 
     private CronExpression(FieldMatcher seconds,
                            FieldMatcher minutes,
                            FieldMatcher hours,
-                           FieldMatcher dayOfMonth,
+                           DayMatcher days,
                            FieldMatcher month,
-                           FieldMatcher dayOfWeek,
                            ZoneId zoneId) {
         this.seconds = seconds;
         this.minutes = minutes;
         this.hours = hours;
-        this.dayOfMonth = dayOfMonth;
+        this.days = days;
         this.month = month;
-        this.dayOfWeek = dayOfWeek;
         this.zoneId = zoneId;
+        this.zone = EpochZone.of(zoneId);
     }
 
     public static CronExpression parse(String expression) {
-        return parse(expression, ZoneId.systemDefault());
+        return parse(expression, EpochZone.systemDefault().zoneId());
     }
 
     public static CronExpression parse(String expression, ZoneId zoneId) {
@@ -42,12 +53,11 @@ public final class CronExpression {
             throw new IllegalArgumentException("Cron expression must have 6 fields (sec min hour dom month dow)");
         }
         return new CronExpression(
-                FieldMatcher.parse(parts[0], 0, 59),
-                FieldMatcher.parse(parts[1], 0, 59),
-                FieldMatcher.parse(parts[2], 0, 23),
-                FieldMatcher.parse(parts[3], 1, 31),
-                FieldMatcher.parse(parts[4], 1, 12),
-                FieldMatcher.parse(parts[5], 0, 6),
+                FieldMatcher.parse(parts[0], 0, 59, null),
+                FieldMatcher.parse(parts[1], 0, 59, null),
+                FieldMatcher.parse(parts[2], 0, 23, null),
+                DayMatcher.parse(parts[3], parts[5]),
+                FieldMatcher.parse(parts[4], 1, 12, MONTH_NAMES),
                 zoneId
         );
     }
@@ -64,27 +74,160 @@ public final class CronExpression {
         return seconds.matches(sec)
                 && minutes.matches(min)
                 && hours.matches(hr)
-                && dayOfMonth.matches(dom)
                 && month.matches(mon)
-                && dayOfWeek.matches(dow);
+                && days.matches(t.getYear(), mon, dom, dow);
     }
 
     public ZonedDateTime nextExecutionAfter(ZonedDateTime after) {
-        // Simple approach: step by 1 second until a match is found.
-        // This is sufficient for expressions like "*/5 * * * * *" used by this project.
-        ZonedDateTime t = after.withZoneSameInstant(zoneId);
-        // Start checking from the next second
-        t = t.plusSeconds(1).withNano(0);
+        long next = nextFireEpochSecond(after.toEpochSecond());
+        return ZonedDateTime.ofInstant(Instant.ofEpochSecond(next), zoneId);
+    }
+
+    /**
+     * Primitive counterpart of {@link #matches(ZonedDateTime)}; allocation-free.
+     */
+    public boolean matches(long epochSecond) {
+        long local = zone.toLocalSecond(epochSecond);
+        long day = Math.floorDiv(local, SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(local, SECONDS_PER_DAY);
+        int date = civilFromEpochDay(day);
+        int mon = (date >>> 5) & 0xF;
+
+        return seconds.matches(secondOfDay % 60)
+                && minutes.matches(secondOfDay / 60 % 60)
+                && hours.matches(secondOfDay / 3600)
+                && month.matches(mon)
+                && days.matches(date >> 9, mon, date & 0x1F, toCronDow(day));
+    }
+
+    /**
+     * Primitive counterpart of {@link #nextExecutionAfter(ZonedDateTime)}: the first matching
+     * epoch second strictly after {@code afterEpochSecond}. Allocation-free except when the
+     * result lands across a DST transition from {@code afterEpochSecond}.
+     */
+    public long nextFireEpochSecond(long afterEpochSecond) {
+        long start = afterEpochSecond + 1;
+        int offset = zone.offsetAt(start);
+        long from = start + offset;
+        while (true) {
+            long day = Math.floorDiv(from, SECONDS_PER_DAY);
+            int secondOfDay = (int) Math.floorMod(from, SECONDS_PER_DAY);
+            int date = civilFromEpochDay(day);
+            long local = nextLocalEpochSecond(date >> 9, (date >>> 5) & 0xF, date & 0x1F,
+                    secondOfDay / 3600, secondOfDay / 60 % 60, secondOfDay % 60);
+            if (local < 0) {
+                throw new IllegalStateException("Unable to find next execution time within "
+                        + MAX_SEARCH_YEARS + " years for cron: " + toString());
+            }
+            // Local times inside a DST gap are shifted forward; inside an overlap we keep the offset we started in
+            long next = zone.toEpochSecond(local, offset);
+            if (next > afterEpochSecond) {
+                return next;
+            }
+            from = local + 1;
+        }
+    }
+
+    /**
+     * Finds the first local date-time at or after the given fields that satisfies every field,
+     * skipping a whole month/day/hour/minute as soon as the coarser field rules it out.
+     * Returns the result as seconds since the local epoch, or -1 if nothing matches within
+     * {@link #MAX_SEARCH_YEARS} (e.g. "0 0 0 31 2 *").
+     */
+    private long nextLocalEpochSecond(int year, int mon, int day, int hour, int min, int sec) {
+        int lastYear = year + MAX_SEARCH_YEARS;
+        while (year <= lastYear) {
+            int nextMonth = month.nextMatch(mon);
+            if (nextMonth < 0) {
+                year++;
+                mon = 1;
+                day = 1;
+                hour = min = sec = 0;
+                continue;
+            }
+            if (nextMonth != mon) {
+                mon = nextMonth;
+                day = 1;
+                hour = min = sec = 0;
+            }
+
+            int nextDay = nextMatchingDay(year, mon, day);
+            if (nextDay < 0) {
+                mon++;
+                day = 1;
+                hour = min = sec = 0;
+                continue;
+            }
+            if (nextDay != day) {
+                day = nextDay;
+                hour = min = sec = 0;
+            }
+
+            int nextHour = hours.nextMatch(hour);
+            if (nextHour < 0) {
+                day++;
+                hour = min = sec = 0;
+                continue;
+            }
+            if (nextHour != hour) {
+                hour = nextHour;
+                min = sec = 0;
+            }
+
+            int nextMinute = minutes.nextMatch(min);
+            if (nextMinute < 0) {
+                hour++;
+                min = sec = 0;
+                continue;
+            }
+            if (nextMinute != min) {
+                min = nextMinute;
+                sec = 0;
+            }
 
-        // Safety cap: search up to 7 days ahead
-        ZonedDateTime limit = t.plusDays(7);
-        while (!t.isAfter(limit)) {
-            if (matches(t)) {
-                return t;
+            int nextSecond = seconds.nextMatch(sec);
+            if (nextSecond < 0) {
+                min++;
+                sec = 0;
+                continue;
             }
-            t = t.plusSeconds(1);
+            return epochDay(year, mon, day) * SECONDS_PER_DAY + hour * 3600L + min * 60L + nextSecond;
         }
-        throw new IllegalStateException("Unable to find next execution time within 7 days for cron: " + toString());
+        return -1;
+    }
+
+    private int nextMatchingDay(int year, int mon, int day) {
+        long candidates = days.dayMask(year, mon) & (-1L << day);
+        return candidates == 0 ? -1 : Long.numberOfTrailingZeros(candidates);
+    }
+
+    // Days since 1970-01-01 for a proleptic Gregorian date (H. Hinnant's days_from_civil)
+    static long epochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        long doy = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    // Inverse of epochDay, packed as (year << 9) | (month << 5) | day to stay allocation-free
+    static int civilFromEpochDay(long epochDay) {
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long doe = z - era * 146097;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        int day = (int) (doy - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int year = (int) (yoe + era * 400 + (month <= 2 ? 1 : 0));
+        return (year << 9) | (month << 5) | day;
+    }
+
+    static int toCronDow(long epochDay) {
+        // 1970-01-01 was a Thursday (cron DOW 4)
+        return (int) Math.floorMod(epochDay + 4, 7);
     }
 
     private static int toCronDow(DayOfWeek dayOfWeek) {
@@ -99,72 +242,281 @@ public final class CronExpression {
                 "seconds=" + seconds +
                 ", minutes=" + minutes +
                 ", hours=" + hours +
-                ", dayOfMonth=" + dayOfMonth +
+                ", dayOfMonth=" + days.dayOfMonth +
                 ", month=" + month +
-                ", dayOfWeek=" + dayOfWeek +
+                ", dayOfWeek=" + days.dayOfWeek +
                 ", zoneId=" + zoneId +
                 '}';
     }
 
-    // Minimal field matcher
+    /**
+     * A single cron field compiled into a bitmask: bit {@code v} is set when value {@code v} matches.
+     * Supports {@code *}, {@code ?}, values, names, {@code a-b} ranges, {@code /n} steps and comma lists.
+     */
     private static final class FieldMatcher {
-        enum Kind { ANY, EVERY, EXACT }
-        final Kind kind;
-        final int every;
-        final int exact;
+        final long bits;
         final int min;
         final int max;
+        final String source;
 
-        private FieldMatcher(Kind kind, int every, int exact, int min, int max) {
-            this.kind = kind;
-            this.every = every;
-            this.exact = exact;
+        private FieldMatcher(long bits, int min, int max, String source) {
+            this.bits = bits;
             this.min = min;
             this.max = max;
+            this.source = source;
         }
 
-        static FieldMatcher parse(String token, int min, int max) {
+        static FieldMatcher parse(String token, int min, int max, String[] names) {
             token = token.trim();
-            if ("*".equals(token)) {
-                return new FieldMatcher(Kind.ANY, 1, -1, min, max);
+            if (token.isEmpty()) {
+                throw new IllegalArgumentException("Empty cron field");
             }
-            if (token.startsWith("*/")) {
-                int step = Integer.parseInt(token.substring(2));
-                if (step <= 0) throw new IllegalArgumentException("Invalid step: " + token);
-                return new FieldMatcher(Kind.EVERY, step, -1, min, max);
+            long bits = 0L;
+            for (String part : token.split(",", -1)) {
+                bits |= parsePart(part, min, max, names);
             }
-            // exact value
-            int value = Integer.parseInt(token);
-            if (value < min || value > max) {
-                throw new IllegalArgumentException("Value out of range: " + token + " not in [" + min + "," + max + "]");
+            return new FieldMatcher(bits, min, max, token);
+        }
+
+        private static long parsePart(String part, int min, int max, String[] names) {
+            int slash = part.indexOf('/');
+            String range = slash < 0 ? part : part.substring(0, slash);
+            int step = 1;
+            if (slash >= 0) {
+                step = Integer.parseInt(part.substring(slash + 1));
+                if (step <= 0) throw new IllegalArgumentException("Invalid step: " + part);
+            }
+
+            int from;
+            int to;
+            if ("*".equals(range) || "?".equals(range)) {
+                from = min;
+                to = max;
+            } else {
+                int dash = range.indexOf('-');
+                if (dash < 0) {
+                    from = parseValue(range, min, max, names);
+                    // "a/n" means every n starting at a
+                    to = slash < 0 ? from : max;
+                } else {
+                    from = parseValue(range.substring(0, dash), min, max, names);
+                    to = parseValue(range.substring(dash + 1), min, max, names);
+                    if (from > to) {
+                        throw new IllegalArgumentException("Invalid range: " + part);
+                    }
+                }
+            }
+
+            long bits = 0L;
+            for (int v = from; v <= to; v += step) {
+                bits |= 1L << v;
             }
-            return new FieldMatcher(Kind.EXACT, 1, value, min, max);
+            return bits;
+        }
+
+        private static int parseValue(String value, int min, int max, String[] names) {
+            if (names != null) {
+                for (int i = 0; i < names.length; i++) {
+                    if (value.equalsIgnoreCase(names[i])) {
+                        return i;
+                    }
+                }
+            }
+            int v = Integer.parseInt(value);
+            if (v < min || v > max) {
+                throw new IllegalArgumentException("Value out of range: " + value + " not in [" + min + "," + max + "]");
+            }
+            return v;
         }
 
         boolean matches(int value) {
-            if (value < min || value > max) return false;
-            switch (kind) {
-                case ANY:
-                    return true;
-                case EVERY:
-                    return (value - min) % every == 0;
-                case EXACT:
-                    return value == exact;
-                default:
-                    return false;
+            return value >= min && value <= max && (bits & (1L << value)) != 0;
+        }
+
+        // Smallest matching value >= from, or -1 if the field has no match left in its range
+        int nextMatch(int from) {
+            if (from > max) {
+                return -1;
             }
+            long candidates = bits & (-1L << Math.max(from, 0));
+            return candidates == 0 ? -1 : Long.numberOfTrailingZeros(candidates);
+        }
+
+        boolean isAll() {
+            long all = (-1L >>> (63 - max)) & (-1L << min);
+            return bits == all;
         }
 
         @Override
         public String toString() {
             return "FieldMatcher{" +
-                    "kind=" + kind +
-                    ", every=" + every +
-                    ", exact=" + exact +
+                    "source='" + source + '\'' +
+                    ", bits=0x" + Long.toHexString(bits) +
                     ", range=[" + min + ',' + max +
                     "]}";
         }
     }
-}
 
+    /**
+     * Day-of-month and day-of-week together, since the L/W/# modifiers only make sense against a
+     * concrete month. Both fields must match. {@link #dayMask} compiles a month into a bitmask of
+     * matching days (bit {@code d} for day {@code d}).
+     *
+     * <ul>
+     *   <li>day-of-month: {@code L} last day, {@code L-n} n days before it, {@code nW} weekday nearest
+     *       to day n, {@code LW} last weekday</li>
+     *   <li>day-of-week: {@code dL} last given weekday of the month, {@code d#k} k-th given weekday</li>
+     * </ul>
+     */
+    private static final class DayMatcher {
+        // Bits 1, 8, 15, 22, 29: one week-day slot per week, shifted by the first occurrence
+        private static final long WEEKLY = (1L << 1) | (1L << 8) | (1L << 15) | (1L << 22) | (1L << 29);
+
+        final FieldMatcher dayOfMonth;
+        final FieldMatcher dayOfWeek;
+        // bit n for every L-n entry, bit 0 for L
+        final long lastDayOffsets;
+        final boolean lastWeekday;
+        final long nearestWeekdays;
+        final long lastDaysOfWeek;
+        // bit (k - 1) * 7 + dow for every d#k entry
+        final long nthDaysOfWeek;
+        final boolean plain;
 
+        private DayMatcher(FieldMatcher dayOfMonth, FieldMatcher dayOfWeek, long lastDayOffsets,
+                           boolean lastWeekday, long nearestWeekdays, long lastDaysOfWeek, long nthDaysOfWeek) {
+            this.dayOfMonth = dayOfMonth;
+            this.dayOfWeek = dayOfWeek;
+            this.lastDayOffsets = lastDayOffsets;
+            this.lastWeekday = lastWeekday;
+            this.nearestWeekdays = nearestWeekdays;
+            this.lastDaysOfWeek = lastDaysOfWeek;
+            this.nthDaysOfWeek = nthDaysOfWeek;
+            this.plain = lastDayOffsets == 0 && !lastWeekday && nearestWeekdays == 0 && lastDaysOfWeek == 0 && nthDaysOfWeek == 0;
+        }
+
+        static DayMatcher parse(String domToken, String dowToken) {
+            long lastDayOffsets = 0L;
+            boolean lastWeekday = false;
+            long nearestWeekdays = 0L;
+            StringBuilder domPlain = new StringBuilder();
+            for (String part : domToken.trim().split(",", -1)) {
+                String p = part.toUpperCase();
+                if ("L".equals(p)) {
+                    lastDayOffsets |= 1L;
+                } else if (p.startsWith("L-")) {
+                    int offset = Integer.parseInt(p.substring(2));
+                    if (offset < 0 || offset > 30) {
+                        throw new IllegalArgumentException("Invalid last-day offset: " + part);
+                    }
+                    lastDayOffsets |= 1L << offset;
+                } else if ("LW".equals(p)) {
+                    lastWeekday = true;
+                } else if (p.endsWith("W")) {
+                    nearestWeekdays |= 1L << FieldMatcher.parseValue(p.substring(0, p.length() - 1), 1, 31, null);
+                } else {
+                    append(domPlain, part);
+                }
+            }
+
+            long lastDaysOfWeek = 0L;
+            long nthDaysOfWeek = 0L;
+            StringBuilder dowPlain = new StringBuilder();
+            for (String part : dowToken.trim().split(",", -1)) {
+                String p = part.toUpperCase();
+                int hash = p.indexOf('#');
+                if (hash > 0) {
+                    int dow = FieldMatcher.parseValue(p.substring(0, hash), 0, 6, DAY_NAMES);
+                    int nth = Integer.parseInt(p.substring(hash + 1));
+                    if (nth < 1 || nth > 5) {
+                        throw new IllegalArgumentException("Invalid nth day of week: " + part);
+                    }
+                    nthDaysOfWeek |= 1L << ((nth - 1) * 7 + dow);
+                } else if (p.length() > 1 && p.endsWith("L")) {
+                    lastDaysOfWeek |= 1L << FieldMatcher.parseValue(p.substring(0, p.length() - 1), 0, 6, DAY_NAMES);
+                } else {
+                    append(dowPlain, part);
+                }
+            }
+
+            // A field made only of modifiers matches nothing on its own; the modifiers add days on top
+            FieldMatcher dom = domPlain.length() > 0
+                    ? FieldMatcher.parse(domPlain.toString(), 1, 31, null)
+                    : new FieldMatcher(0L, 1, 31, domToken.trim());
+            FieldMatcher dow = dowPlain.length() > 0
+                    ? FieldMatcher.parse(dowPlain.toString(), 0, 6, DAY_NAMES)
+                    : new FieldMatcher(0L, 0, 6, dowToken.trim());
+            return new DayMatcher(dom, dow, lastDayOffsets, lastWeekday,
+                    nearestWeekdays, lastDaysOfWeek, nthDaysOfWeek);
+        }
+
+        private static void append(StringBuilder sb, String part) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(part);
+        }
+
+        boolean matches(int year, int mon, int dom, int dow) {
+            if (plain) {
+                return dayOfMonth.matches(dom) && dayOfWeek.matches(dow);
+            }
+            return (dayMask(year, mon) & (1L << dom)) != 0;
+        }
+
+        long dayMask(int year, int mon) {
+            int length = Month.of(mon).length(Year.isLeap(year));
+            long monthDays = (-1L >>> (63 - length)) & ~1L;
+            int firstDow = toCronDow(epochDay(year, mon, 1));
+            int lastDow = (firstDow + length - 1) % 7;
+
+            long domMask = dayOfMonth.bits & monthDays;
+            if (!dayOfMonth.isAll()) {
+                for (long o = lastDayOffsets; o != 0; o &= o - 1) {
+                    int offset = Long.numberOfTrailingZeros(o);
+                    if (length - offset >= 1) {
+                        domMask |= 1L << (length - offset);
+                    }
+                }
+                if (lastWeekday) {
+                    domMask |= 1L << nearestWeekday(length, length, lastDow);
+                }
+                for (long n = nearestWeekdays; n != 0; n &= n - 1) {
+                    int day = Long.numberOfTrailingZeros(n);
+                    if (day <= length) {
+                        domMask |= 1L << nearestWeekday(day, length, (firstDow + day - 1) % 7);
+                    }
+                }
+            }
+
+            long dowMask = 0L;
+            for (long d = dayOfWeek.bits; d != 0; d &= d - 1) {
+                int dow = Long.numberOfTrailingZeros(d);
+                dowMask |= WEEKLY << ((dow - firstDow + 7) % 7);
+            }
+            for (long d = lastDaysOfWeek; d != 0; d &= d - 1) {
+                int dow = Long.numberOfTrailingZeros(d);
+                dowMask |= 1L << (length - (lastDow - dow + 7) % 7);
+            }
+            for (long n = nthDaysOfWeek; n != 0; n &= n - 1) {
+                int bit = Long.numberOfTrailingZeros(n);
+                int day = 1 + (bit % 7 - firstDow + 7) % 7 + (bit / 7) * 7;
+                if (day <= length) {
+                    dowMask |= 1L << day;
+                }
+            }
+            return domMask & dowMask & monthDays;
+        }
+
+        // Weekday closest to the given day without leaving the month (Quartz "W" semantics)
+        private static int nearestWeekday(int day, int length, int dow) {
+            if (dow == 6) {
+                return day == 1 ? day + 2 : day - 1;
+            }
+            if (dow == 0) {
+                return day == length ? day - 2 : day + 1;
+            }
+            return day;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.scheduler.scheduler_engine.scheduling;
+
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, concurrent cache of compiled {@link CronExpression}s keyed by expression and zone.
+ * Almost every task shares a handful of expressions, so steady-state lookups are a map hit.
+ *
+ * Hits are lock-free and only stamp the entry's access time; eviction (least recently used)
+ * runs on the miss path once the cache grows past its bound. Invalid expressions are not cached.
+ */
+public final class CronExpressionCache {
+
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    private static final CronExpressionCache SHARED = new CronExpressionCache(DEFAULT_MAX_SIZE);
+
+    private final int maxSize;
+    // Expression maps nested per zone so a lookup needs no composite key allocation
+    private final ConcurrentHashMap<ZoneId, ConcurrentHashMap<String, Entry>> zones = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Object evictionLock = new Object();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CronExpressionCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.maxSize = maxSize;
+    }
+
+    /** Process-wide instance used by entities and services alike. */
+    public static CronExpressionCache shared() {
+        return SHARED;
+    }
+
+    public CronExpression get(String expression) {
+        return get(expression, EpochZone.systemDefault().zoneId());
+    }
+
+    public CronExpression get(String expression, ZoneId zoneId) {
+        Objects.requireNonNull(expression, "expression");
+        Objects.requireNonNull(zoneId, "zoneId");
+        ConcurrentHashMap<String, Entry> entries = zones.get(zoneId);
+        if (entries == null) {
+            entries = zones.computeIfAbsent(zoneId, z -> new ConcurrentHashMap<>());
+        }
+        Entry entry = entries.get(expression);
+        if (entry != null) {
+            hits.increment();
+            entry.lastAccess = System.nanoTime();
+            return entry.cron;
+        }
+
+        misses.increment();
+        CronExpression parsed = CronExpression.parse(expression, zoneId);
+        Entry existing = entries.putIfAbsent(expression, new Entry(parsed));
+        if (existing != null) {
+            return existing.cron;
+        }
+        if (size.incrementAndGet() > maxSize) {
+            evict();
+        }
+        return parsed;
+    }
+
+    private void evict() {
+        synchronized (evictionLock) {
+            while (size.get() > maxSize) {
+                ConcurrentHashMap<String, Entry> eldestZone = null;
+                String eldest = null;
+                long eldestAccess = Long.MAX_VALUE;
+                for (ConcurrentHashMap<String, Entry> entries : zones.values()) {
+                    for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                        long access = e.getValue().lastAccess;
+                        if (access < eldestAccess) {
+                            eldestAccess = access;
+                            eldestZone = entries;
+                            eldest = e.getKey();
+                        }
+                    }
+                }
+                if (eldest == null || eldestZone.remove(eldest) == null) {
+                    return;
+                }
+                size.decrementAndGet();
+                evictions.increment();
+            }
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public int maxSize() {
+        return maxSize;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public void clear() {
+        synchronized (evictionLock) {
+            zones.clear();
+            size.set(0);
+        }
+    }
+
+    private static final class Entry {
+        final CronExpression cron;
+        volatile long lastAccess;
+
+        Entry(CronExpression cron) {
+            this.cron = cron;
+            this.lastAccess = System.nanoTime();
+        }
+    }
+}
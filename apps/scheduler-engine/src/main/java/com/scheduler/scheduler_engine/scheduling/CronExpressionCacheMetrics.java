@@ -0,0 +1,34 @@
+package com.scheduler.scheduler_engine.scheduling;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes hit/miss/eviction counters and the size of the shared {@link CronExpressionCache}.
+ */
+@Component
+public class CronExpressionCacheMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CronExpressionCache cache = CronExpressionCache.shared();
+
+        FunctionCounter.builder("scheduler.cron.cache.requests", cache, CronExpressionCache::hitCount)
+                .tag("result", "hit")
+                .description("Compiled cron lookups served from the cache")
+                .register(registry);
+        FunctionCounter.builder("scheduler.cron.cache.requests", cache, CronExpressionCache::missCount)
+                .tag("result", "miss")
+                .description("Compiled cron lookups that had to parse the expression")
+                .register(registry);
+        FunctionCounter.builder("scheduler.cron.cache.evictions", cache, CronExpressionCache::evictionCount)
+                .description("Compiled cron expressions evicted to stay within the bound")
+                .register(registry);
+        Gauge.builder("scheduler.cron.cache.size", cache, CronExpressionCache::size)
+                .description("Compiled cron expressions currently cached")
+                .register(registry);
+    }
+}
@@ -0,0 +1,121 @@
+package com.scheduler.scheduler_engine.scheduling;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Epoch-second view of a {@link ZoneId} for the scheduling hot path.
+ *
+ * The offset is cached together with the window between the surrounding {@link ZoneRules}
+ * transitions, so converting between epoch seconds and local seconds is plain arithmetic until
+ * the next DST change. Only a lookup outside the cached window goes back to {@link ZoneRules}.
+ */
+public final class EpochZone {
+
+    private static final ConcurrentHashMap<ZoneId, EpochZone> ZONES = new ConcurrentHashMap<>();
+    // Captured once: ZoneId.systemDefault() clones the default TimeZone on every call
+    private static final EpochZone SYSTEM_DEFAULT = of(ZoneId.systemDefault());
+
+    private final ZoneId zoneId;
+    private final ZoneRules rules;
+    private final Clock clock;
+    private volatile Window window;
+
+    private EpochZone(ZoneId zoneId) {
+        this.zoneId = zoneId;
+        this.rules = zoneId.getRules();
+        this.clock = Clock.system(zoneId);
+        this.window = load(currentEpochSecond());
+    }
+
+    public static EpochZone of(ZoneId zoneId) {
+        Objects.requireNonNull(zoneId, "zoneId");
+        return ZONES.computeIfAbsent(zoneId, EpochZone::new);
+    }
+
+    public static EpochZone systemDefault() {
+        return SYSTEM_DEFAULT;
+    }
+
+    public static long currentEpochSecond() {
+        return Math.floorDiv(System.currentTimeMillis(), 1000L);
+    }
+
+    public ZoneId zoneId() {
+        return zoneId;
+    }
+
+    /** Clock for this zone, for callers that still need a full-precision {@code now()}. */
+    public Clock clock() {
+        return clock;
+    }
+
+    public int offsetAt(long epochSecond) {
+        return windowAt(epochSecond).offsetSeconds;
+    }
+
+    public long toLocalSecond(long epochSecond) {
+        return epochSecond + offsetAt(epochSecond);
+    }
+
+    /**
+     * Resolves a local second (seconds since the local epoch) to an epoch second. The preferred
+     * offset wins when it is valid; local times in a gap are shifted forward by the gap length,
+     * like {@link ZonedDateTime#ofLocal}.
+     */
+    public long toEpochSecond(long localSecond, int preferredOffset) {
+        long candidate = localSecond - preferredOffset;
+        if (offsetAt(candidate) == preferredOffset) {
+            return candidate;
+        }
+        LocalDateTime local = LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC);
+        return ZonedDateTime.ofLocal(local, zoneId, ZoneOffset.ofTotalSeconds(preferredOffset)).toEpochSecond();
+    }
+
+    /** Epoch second of a local date-time in this zone, rounded up to the next whole second. */
+    public long toEpochSecond(LocalDateTime local) {
+        long localSecond = local.toEpochSecond(ZoneOffset.UTC) + (local.getNano() > 0 ? 1 : 0);
+        return toEpochSecond(localSecond, offsetAt(localSecond - offsetAt(localSecond)));
+    }
+
+    public LocalDateTime toLocalDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, windowAt(epochSecond).offset);
+    }
+
+    private Window windowAt(long epochSecond) {
+        Window w = window;
+        if (epochSecond < w.from || epochSecond >= w.until) {
+            w = load(epochSecond);
+            window = w;
+        }
+        return w;
+    }
+
+    private Window load(long epochSecond) {
+        if (rules.isFixedOffset()) {
+            return new Window(Long.MIN_VALUE, Long.MAX_VALUE, rules.getOffset(Instant.EPOCH));
+        }
+        Instant instant = Instant.ofEpochSecond(epochSecond);
+        // previousTransition is strictly before its argument, so +1s includes a transition at epochSecond
+        ZoneOffsetTransition previous = rules.previousTransition(instant.plusSeconds(1));
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+        return new Window(
+                previous == null ? Long.MIN_VALUE : previous.toEpochSecond(),
+                next == null ? Long.MAX_VALUE : next.toEpochSecond(),
+                rules.getOffset(instant));
+    }
+
+    private record Window(long from, long until, ZoneOffset offset, int offsetSeconds) {
+        Window(long from, long until, ZoneOffset offset) {
+            this(from, until, offset, offset.getTotalSeconds());
+        }
+    }
+}
@@ -1,15 +1,24 @@
 package com.scheduler.scheduler_engine.scheduling;
 
+import com.scheduler.scheduler_engine.config.SchedulerConfig;
+import com.scheduler.scheduler_engine.service.TaskArchiveService;
+import com.scheduler.scheduler_engine.service.TaskCleanupService;
 import com.scheduler.scheduler_engine.service.TaskExecutionService;
+import com.scheduler.scheduler_engine.service.TaskStatusCounters;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.time.ZonedDateTime;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
+import java.util.UUID;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadFactory;
@@ -19,23 +28,52 @@ import com.scheduler.scheduler_engine.logger.AppLogger;
 
 @Component
 public class SystemScheduler implements InitializingBean, DisposableBean {
+    private static final long MAX_RETRY_DELAY_MS = 30000L;
+
     private final TaskExecutionService taskExecutionService;
+    private final TaskCleanupService cleanupService;
+    private final TaskArchiveService archiveService;
+    private final TaskStatusCounters statusCounters;
+    private final TaskDueIndex dueIndex;
+    private final TaskPrefetchQueue prefetchQueue;
+    private final SchedulerConfig config;
     private final String executionCronExpression;
     private final long cleanupIntervalMillis;
     private final boolean schedulerEnabled;
     private final AppLogger log;
     private ScheduledExecutorService executor;
-    private ScheduledFuture<?> executionFuture;
+    private Future<?> executionFuture;
     private ScheduledFuture<?> cleanupFuture;
+    private ScheduledFuture<?> resyncFuture;
+    private ScheduledFuture<?> leaseRecoveryFuture;
+    private ScheduledFuture<?> archiveFuture;
+    private ScheduledFuture<?> statsFuture;
+    private volatile boolean running;
+
+    private final Object wakeMonitor = new Object();
+    // guarded by wakeMonitor; survives a tick in progress so the loop goes round again
+    private boolean wakeRequested;
 
     public SystemScheduler(
             TaskExecutionService taskExecutionService,
+            TaskCleanupService cleanupService,
+            TaskArchiveService archiveService,
+            TaskStatusCounters statusCounters,
+            TaskDueIndex dueIndex,
+            TaskPrefetchQueue prefetchQueue,
+            SchedulerConfig config,
             @Value("${scheduler.task.execution-cron:*/5 * * * * *}") String executionCronExpression,
             @Value("${scheduler.task.cleanup-interval:3600000}") long cleanupIntervalMillis,
             @Value("${scheduler.enabled:true}") boolean schedulerEnabled,
             AppLogger log
     ) {
         this.taskExecutionService = Objects.requireNonNull(taskExecutionService);
+        this.cleanupService = Objects.requireNonNull(cleanupService);
+        this.archiveService = Objects.requireNonNull(archiveService);
+        this.statusCounters = Objects.requireNonNull(statusCounters);
+        this.dueIndex = Objects.requireNonNull(dueIndex);
+        this.prefetchQueue = Objects.requireNonNull(prefetchQueue);
+        this.config = Objects.requireNonNull(config);
         this.executionCronExpression = executionCronExpression;
         this.cleanupIntervalMillis = cleanupIntervalMillis;
         this.schedulerEnabled = schedulerEnabled;
@@ -49,22 +87,136 @@ public class SystemScheduler implements InitializingBean, DisposableBean {
             return;
         }
         
-        this.executor = Executors.newScheduledThreadPool(2, new SchedulerThreadFactory());
-        startExecutionLoop();
+        SchedulerConfig.DispatchMode mode = config.getDispatch().getMode();
+        this.running = true;
+        this.executor = Executors.newScheduledThreadPool(4, new SchedulerThreadFactory());
+        switch (mode) {
+            case WHEEL -> startIndexedExecutionLoop();
+            case PREFETCH -> startPrefetchExecutionLoop();
+            default -> startExecutionLoop();
+        }
         startCleanupLoop();
-        log.info("NativeScheduler started: cron={}, cleanupIntervalMs={}", executionCronExpression, cleanupIntervalMillis);
+        startLeaseRecoveryLoop();
+        startArchiveLoop();
+        startStatsReconcileLoop();
+        log.info("NativeScheduler started: mode={}, cron={}, cleanupIntervalMs={}", mode, executionCronExpression, cleanupIntervalMillis);
+    }
+
+    /**
+     * Loads the due-time index and advances it on every second boundary, so tasks run in the
+     * second they are due and Postgres is only read for the ids that fired. A wake-up from
+     * {@link #onTaskScheduling} runs a tick straight away.
+     */
+    private void startIndexedExecutionLoop() {
+        int loaded = dueIndex.reload();
+        log.info("Due-time index loaded: {} pending tasks", loaded);
+
+        this.executionFuture = executor.submit(() -> {
+            while (running) {
+                try {
+                    awaitWakeUp(1000L - Math.floorMod(System.currentTimeMillis(), 1000L));
+                    // Only fire as many as there are free slots; the rest stay due in the wheel
+                    int slots = taskExecutionService.availableSlots();
+                    if (slots == 0) {
+                        continue;
+                    }
+                    List<UUID> due = dueIndex.pollDue(EpochZone.currentEpochSecond(), slots);
+                    if (!due.isEmpty()) {
+                        try {
+                            runExecuteDueTasks(due, Thread.currentThread().threadId());
+                        } catch (RuntimeException e) {
+                            // Nothing ran; put them back so the next tick retries
+                            due.forEach(id -> dueIndex.schedule(id, null));
+                            throw e;
+                        }
+                    }
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Throwable t) {
+                    log.error("Execution loop error: {}", t.getMessage(), t);
+                }
+            }
+        });
+
+        long resyncMs = config.getDispatch().getIndexResyncIntervalMs();
+        if (resyncMs > 0) {
+            // Picks up rows changed behind the engine's back (manual SQL, other instances)
+            this.resyncFuture = executor.scheduleWithFixedDelay(() -> {
+                try {
+                    int size = dueIndex.reload();
+                    log.debug("Due-time index resynced: {} pending tasks", size);
+                } catch (Throwable t) {
+                    log.error("Index resync error: {}", t.getMessage(), t);
+                }
+            }, resyncMs, resyncMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Runs one range query per prefetch interval for the tasks due within the lookahead and
+     * dispatches each from a local delay queue at its exact due time, instead of finding it one
+     * poll after it became due.
+     */
+    private void startPrefetchExecutionLoop() {
+        long intervalMs = config.getDispatch().getPrefetchIntervalMs();
+        long lookaheadMs = Math.max(intervalMs, config.getDispatch().getPrefetchLookaheadMs());
+        int loaded = prefetchQueue.refill(lookaheadMs);
+        log.info("Prefetch queue loaded: {} tasks due within {}ms", loaded, lookaheadMs);
+
+        this.resyncFuture = executor.scheduleAtFixedRate(() -> {
+            try {
+                int found = prefetchQueue.refill(lookaheadMs);
+                log.debug("Prefetch window loaded: {} tasks, {} queued", found, prefetchQueue.size());
+            } catch (Throwable t) {
+                log.error("Prefetch error: {}", t.getMessage(), t);
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+
+        this.executionFuture = executor.submit(() -> {
+            int failures = 0;
+            while (running) {
+                try {
+                    int slots = taskExecutionService.availableSlots();
+                    if (slots == 0) {
+                        awaitWakeUp(100L);
+                        continue;
+                    }
+                    List<UUID> due = prefetchQueue.takeDue(slots);
+                    try {
+                        runExecuteDueTasks(due, Thread.currentThread().threadId());
+                        failures = 0;
+                    } catch (RuntimeException e) {
+                        // Back off before the same ids come due again, so an outage is not a hot loop
+                        LocalDateTime retryAt = LocalDateTime.now().plusNanos(retryDelayMs(failures++) * 1_000_000L);
+                        due.forEach(id -> prefetchQueue.offer(id, retryAt));
+                        throw e;
+                    }
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Throwable t) {
+                    log.error("Execution loop error: {}", t.getMessage(), t);
+                }
+            }
+        });
+    }
+
+    // 1s, 2s, 4s ... capped at 30s
+    private static long retryDelayMs(int failures) {
+        return Math.min(MAX_RETRY_DELAY_MS, 1000L << Math.min(failures, 5));
     }
 
     private void startExecutionLoop() {
-        CronExpression cron = CronExpression.parse(executionCronExpression);
+        CronExpression cron = CronExpressionCache.shared().get(executionCronExpression);
         this.executionFuture = executor.scheduleWithFixedDelay(() -> {
             try {
                
-                ZonedDateTime now = ZonedDateTime.now().withNano(0);
-                ZonedDateTime next = cron.nextExecutionAfter(now.minusSeconds(1));
-                long delayMs = Math.max(0, next.toInstant().toEpochMilli() - now.toInstant().toEpochMilli());
+                long nowMillis = System.currentTimeMillis();
+                long next = cron.nextFireEpochSecond(Math.floorDiv(nowMillis, 1000L) - 1);
+                long delayMs = Math.max(0, next * 1000L - nowMillis);
                 if (delayMs > 0) {
-                    Thread.sleep(delayMs);
+                    awaitWakeUp(delayMs);
                 }
                 runExecutePendingTasks(Thread.currentThread().threadId());
             } catch (InterruptedException ie) {
@@ -85,20 +237,106 @@ public class SystemScheduler implements InitializingBean, DisposableBean {
         }, cleanupIntervalMillis, cleanupIntervalMillis, TimeUnit.MILLISECONDS);
     }
 
+    private void startLeaseRecoveryLoop() {
+        long intervalMs = config.getDispatch().getLeaseRecoveryIntervalMs();
+        this.leaseRecoveryFuture = executor.scheduleWithFixedDelay(() -> {
+            try {
+                taskExecutionService.recoverExpiredLeases();
+            } catch (Throwable t) {
+                log.error("Lease recovery error: {}", t.getMessage(), t);
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void startArchiveLoop() {
+        long intervalMs = config.getArchive().getIntervalMs();
+        this.archiveFuture = executor.scheduleWithFixedDelay(() -> {
+            try {
+                archiveService.archive();
+            } catch (Throwable t) {
+                log.error("Archive loop error: {}", t.getMessage(), t);
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // Runs once at startup to seed the counters, then periodically to correct drift
+    private void startStatsReconcileLoop() {
+        long intervalMs = config.getTask().getStatsReconcileIntervalMs();
+        this.statsFuture = executor.scheduleWithFixedDelay(() -> {
+            try {
+                statusCounters.reconcile();
+            } catch (Throwable t) {
+                log.error("Stats reconcile error: {}", t.getMessage(), t);
+            }
+        }, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Applies a committed schedule change to the index or prefetch queue and, if the task is
+     * already due, wakes the execution loop. Events from rolled-back transactions are never
+     * delivered here; events published outside a transaction arrive immediately.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskScheduling(TaskSchedulingEvent event) {
+        switch (event.type()) {
+            case SCHEDULED, RESCHEDULED -> {
+                dueIndex.schedule(event.taskId(), event.nextExecutionTime());
+                prefetchQueue.offer(event.taskId(), event.nextExecutionTime());
+                LocalDateTime next = event.nextExecutionTime();
+                if (next == null || !next.isAfter(LocalDateTime.now())) {
+                    wakeUp();
+                }
+            }
+            case CANCELLED -> {
+                dueIndex.remove(event.taskId());
+                prefetchQueue.remove(event.taskId());
+            }
+        }
+    }
+
+    private void wakeUp() {
+        synchronized (wakeMonitor) {
+            wakeRequested = true;
+            wakeMonitor.notifyAll();
+        }
+    }
+
+    private void awaitWakeUp(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (wakeMonitor) {
+            long remaining = timeoutMillis;
+            while (!wakeRequested && remaining > 0) {
+                wakeMonitor.wait(remaining);
+                remaining = deadline - System.currentTimeMillis();
+            }
+            wakeRequested = false;
+        }
+    }
+
     @Transactional
     protected void runExecutePendingTasks(long threadId) {
         taskExecutionService.executePendingTasks(threadId);
     }
 
     @Transactional
+    protected void runExecuteDueTasks(List<UUID> taskIds, long threadId) {
+        taskExecutionService.executeDueTasks(taskIds, threadId);
+    }
+
+    // Deliberately not transactional: every cleanup chunk commits on its own
     protected void runCleanupOldTasks() {
-        taskExecutionService.cleanupOldTasks();
+        cleanupService.cleanupOldTasks();
     }
 
     @Override
     public void destroy() {
+        running = false;
         if (executionFuture != null) executionFuture.cancel(true);
         if (cleanupFuture != null) cleanupFuture.cancel(true);
+        if (resyncFuture != null) resyncFuture.cancel(true);
+        if (leaseRecoveryFuture != null) leaseRecoveryFuture.cancel(true);
+        if (archiveFuture != null) archiveFuture.cancel(true);
+        if (statsFuture != null) statsFuture.cancel(true);
         if (executor != null) {
             executor.shutdownNow();
             try {
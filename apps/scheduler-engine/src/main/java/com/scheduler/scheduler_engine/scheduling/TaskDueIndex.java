@@ -0,0 +1,172 @@
+package com.scheduler.scheduler_engine.scheduling;
+
+import com.scheduler.scheduler_engine.domain.projection.TaskDueTime;
+import com.scheduler.scheduler_engine.domain.repository.ScheduledTaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of pending task ids by next execution time, backed by a {@link TimingWheel}.
+ *
+ * Postgres stays the system of record: the index is loaded from it at startup and on every
+ * resync, and only tells the scheduler which ids to load and run. Until {@link #reload()} has
+ * run the index is inactive and every update is a no-op, so the poll mode pays nothing for it.
+ */
+@Component
+public class TaskDueIndex {
+
+    private final ScheduledTaskRepository scheduledTaskRepository;
+    private final EpochZone zone = EpochZone.systemDefault();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // guarded by lock
+    private TimingWheel wheel = new TimingWheel(EpochZone.currentEpochSecond());
+    private List<Mutation> reloadJournal;
+
+    // True from the first reload on; updates before that have nothing to apply to
+    private volatile boolean tracking;
+    private volatile boolean active;
+
+    public TaskDueIndex(ScheduledTaskRepository scheduledTaskRepository, MeterRegistry meterRegistry) {
+        this.scheduledTaskRepository = scheduledTaskRepository;
+        Gauge.builder("scheduler.index.size", this, TaskDueIndex::size)
+                .description("Pending tasks tracked by the in-memory due-time index")
+                .register(meterRegistry);
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Rebuilds the index from Postgres and activates it. Updates that arrive while the snapshot
+     * is streaming are journaled and replayed on top of it before the swap.
+     */
+    @Transactional(readOnly = true)
+    public int reload() {
+        lock.lock();
+        try {
+            reloadJournal = new ArrayList<>();
+            tracking = true;
+        } finally {
+            lock.unlock();
+        }
+
+        TimingWheel fresh = new TimingWheel(EpochZone.currentEpochSecond());
+        try (Stream<TaskDueTime> pending = scheduledTaskRepository.streamPendingDueTimes()) {
+            pending.forEach(t -> fresh.schedule(
+                    t.id().getMostSignificantBits(),
+                    t.id().getLeastSignificantBits(),
+                    toEpochSecond(t.nextExecutionTime())));
+        } catch (RuntimeException e) {
+            lock.lock();
+            try {
+                reloadJournal = null;
+                tracking = active;
+            } finally {
+                lock.unlock();
+            }
+            throw e;
+        }
+
+        lock.lock();
+        try {
+            for (Mutation m : reloadJournal) {
+                if (m.dueEpochSecond == Mutation.REMOVED) {
+                    fresh.remove(m.msb, m.lsb);
+                } else {
+                    fresh.schedule(m.msb, m.lsb, m.dueEpochSecond);
+                }
+            }
+            reloadJournal = null;
+            wheel = fresh;
+            active = true;
+            return fresh.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void schedule(UUID taskId, LocalDateTime nextExecutionTime) {
+        if (!tracking) {
+            return;
+        }
+        long due = toEpochSecond(nextExecutionTime);
+        long msb = taskId.getMostSignificantBits();
+        long lsb = taskId.getLeastSignificantBits();
+        lock.lock();
+        try {
+            if (active) {
+                wheel.schedule(msb, lsb, due);
+            }
+            if (reloadJournal != null) {
+                reloadJournal.add(new Mutation(msb, lsb, due));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(UUID taskId) {
+        if (!tracking) {
+            return;
+        }
+        long msb = taskId.getMostSignificantBits();
+        long lsb = taskId.getLeastSignificantBits();
+        lock.lock();
+        try {
+            if (active) {
+                wheel.remove(msb, lsb);
+            }
+            if (reloadJournal != null) {
+                reloadJournal.add(new Mutation(msb, lsb, Mutation.REMOVED));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns up to {@code limit} ids due at or before {@code nowEpochSecond}, oldest
+     * first. Anything due beyond the limit stays in the index and comes back on the next call.
+     */
+    public List<UUID> pollDue(long nowEpochSecond, int limit) {
+        if (!active) {
+            return List.of();
+        }
+        List<UUID> due = new ArrayList<>(Math.min(Math.max(limit, 0), 1024));
+        lock.lock();
+        try {
+            wheel.advance(nowEpochSecond, limit, (msb, lsb, d) -> due.add(new UUID(msb, lsb)));
+        } finally {
+            lock.unlock();
+        }
+        return due;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long toEpochSecond(LocalDateTime time) {
+        return time == null ? EpochZone.currentEpochSecond() : zone.toEpochSecond(time);
+    }
+
+    private record Mutation(long msb, long lsb, long dueEpochSecond) {
+        static final long REMOVED = Long.MIN_VALUE;
+    }
+}
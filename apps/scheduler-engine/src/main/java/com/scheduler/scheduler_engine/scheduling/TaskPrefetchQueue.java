@@ -0,0 +1,133 @@
+package com.scheduler.scheduler_engine.scheduling;
+
+import com.scheduler.scheduler_engine.domain.projection.TaskDueTime;
+import com.scheduler.scheduler_engine.domain.repository.ScheduledTaskRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local delay queue of the pending tasks due before the current prefetch horizon.
+ *
+ * Each {@link #refill} runs one range query for everything due up to {@code now + lookahead}
+ * and moves the horizon there; {@link #takeDue} then hands tasks out at their exact due time.
+ * Changes that land inside the horizon are applied through {@link #offer}, later ones are left
+ * to the next refill. Until the first refill every call is a no-op.
+ */
+@Component
+public class TaskPrefetchQueue {
+
+    private final ScheduledTaskRepository scheduledTaskRepository;
+    private final EpochZone zone = EpochZone.systemDefault();
+    private final DelayQueue<DueTask> queue = new DelayQueue<>();
+
+    // Latest entry per task; anything else taken from the queue is stale and dropped
+    private final Map<UUID, DueTask> queued = new ConcurrentHashMap<>();
+
+    // Epoch millis up to which the queue holds every pending task
+    private volatile long horizonMillis = Long.MIN_VALUE;
+
+    public TaskPrefetchQueue(ScheduledTaskRepository scheduledTaskRepository) {
+        this.scheduledTaskRepository = scheduledTaskRepository;
+    }
+
+    public boolean isActive() {
+        return horizonMillis != Long.MIN_VALUE;
+    }
+
+    /** Loads every pending task due within {@code lookaheadMillis} and returns how many were found. */
+    @Transactional(readOnly = true)
+    public int refill(long lookaheadMillis) {
+        long horizonSecond = Math.floorDiv(System.currentTimeMillis() + lookaheadMillis, 1000L);
+        List<TaskDueTime> due = scheduledTaskRepository.findPendingDueTimesUntil(zone.toLocalDateTime(horizonSecond));
+        for (TaskDueTime t : due) {
+            enqueue(t.id(), dueMillis(t.nextExecutionTime()));
+        }
+        horizonMillis = horizonSecond * 1000L;
+        return due.size();
+    }
+
+    public void offer(UUID taskId, LocalDateTime nextExecutionTime) {
+        if (!isActive()) {
+            return;
+        }
+        long due = dueMillis(nextExecutionTime);
+        if (due > horizonMillis) {
+            // Beyond the window: the refill that covers it will load it
+            queued.remove(taskId);
+            return;
+        }
+        enqueue(taskId, due);
+    }
+
+    public void remove(UUID taskId) {
+        queued.remove(taskId);
+    }
+
+    /**
+     * Blocks until at least one task is due, then returns it with up to {@code limit - 1} others
+     * that are due as well.
+     */
+    public List<UUID> takeDue(int limit) throws InterruptedException {
+        List<DueTask> taken = new ArrayList<>();
+        List<UUID> due = new ArrayList<>();
+        while (due.isEmpty()) {
+            taken.add(queue.take());
+            queue.drainTo(taken, Math.max(0, limit - 1));
+            for (DueTask t : taken) {
+                if (queued.remove(t.taskId, t)) {
+                    due.add(t.taskId);
+                }
+            }
+            taken.clear();
+        }
+        return due;
+    }
+
+    public int size() {
+        return queued.size();
+    }
+
+    private void enqueue(UUID taskId, long dueMillis) {
+        DueTask current = queued.get(taskId);
+        if (current != null && current.dueMillis == dueMillis) {
+            return;
+        }
+        DueTask entry = new DueTask(taskId, dueMillis);
+        queued.put(taskId, entry);
+        queue.offer(entry);
+    }
+
+    private long dueMillis(LocalDateTime time) {
+        return time == null ? System.currentTimeMillis() : zone.toEpochSecond(time) * 1000L;
+    }
+
+    private static final class DueTask implements Delayed {
+        private final UUID taskId;
+        private final long dueMillis;
+
+        private DueTask(UUID taskId, long dueMillis) {
+            this.taskId = taskId;
+            this.dueMillis = dueMillis;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueMillis, ((DueTask) other).dueMillis);
+        }
+    }
+}
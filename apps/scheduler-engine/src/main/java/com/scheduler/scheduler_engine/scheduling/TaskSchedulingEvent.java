@@ -0,0 +1,30 @@
+package com.scheduler.scheduler_engine.scheduling;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published wherever a task's schedule changes. When published inside a transaction,
+ * {@link SystemScheduler} receives it only after that transaction commits, so rolled-back changes
+ * never reach the index.
+ */
+public record TaskSchedulingEvent(Type type, UUID taskId, LocalDateTime nextExecutionTime) {
+
+    public enum Type {
+        SCHEDULED,
+        RESCHEDULED,
+        CANCELLED
+    }
+
+    public static TaskSchedulingEvent scheduled(UUID taskId, LocalDateTime nextExecutionTime) {
+        return new TaskSchedulingEvent(Type.SCHEDULED, taskId, nextExecutionTime);
+    }
+
+    public static TaskSchedulingEvent rescheduled(UUID taskId, LocalDateTime nextExecutionTime) {
+        return new TaskSchedulingEvent(Type.RESCHEDULED, taskId, nextExecutionTime);
+    }
+
+    public static TaskSchedulingEvent cancelled(UUID taskId) {
+        return new TaskSchedulingEvent(Type.CANCELLED, taskId, null);
+    }
+}
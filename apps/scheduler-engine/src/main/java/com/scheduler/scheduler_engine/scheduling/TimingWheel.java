@@ -0,0 +1,380 @@
+package com.scheduler.scheduler_engine.scheduling;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical timing wheel of task ids (UUID as two longs) keyed by due epoch second.
+ *
+ * Six levels of 64 slots cover 64^6 seconds; level {@code n} holds entries whose due time shares
+ * every digit above {@code n} (base 64) with the current tick, and is cascaded into the levels
+ * below when the tick reaches its slot. Scheduling, removal and firing are O(1) amortized.
+ *
+ * Entries live in parallel primitive arrays linked into per-slot lists, with an open-addressing
+ * id table on the side, so an entry costs ~44 bytes instead of a full entity. Entries that have
+ * come due wait in a min-heap by due time until they are taken, so a bounded advance hands out the
+ * oldest first and leaves the rest where they are.
+ * Not thread-safe; {@link TaskDueIndex} serializes access.
+ */
+public final class TimingWheel {
+
+    /** Receives fired entries; the entry is already removed from the wheel when called. */
+    @FunctionalInterface
+    public interface DueConsumer {
+        void accept(long idMsb, long idLsb, long dueEpochSecond);
+    }
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+    private static final int OVERDUE = LEVELS * SLOTS;
+    private static final int OVERFLOW = OVERDUE + 1;
+    private static final int NIL = -1;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int[] heads = new int[OVERFLOW + 1];
+
+    private long[] idMsb;
+    private long[] idLsb;
+    private long[] due;
+    private int[] next;
+    private int[] prev;
+    private int[] bucket;
+    // Due entries as a min-heap on due time; an entry in it keeps its heap position in prev
+    private int[] overdue = new int[16];
+    private int overdueSize;
+    private int freeHead = NIL;
+    private int allocated;
+    private int size;
+
+    // entry index + 1, 0 = empty
+    private int[] table;
+
+    private long currentTick;
+
+    public TimingWheel(long startEpochSecond) {
+        this(startEpochSecond, INITIAL_CAPACITY);
+    }
+
+    public TimingWheel(long startEpochSecond, int expectedSize) {
+        int capacity = Math.max(16, expectedSize);
+        this.idMsb = new long[capacity];
+        this.idLsb = new long[capacity];
+        this.due = new long[capacity];
+        this.next = new int[capacity];
+        this.prev = new int[capacity];
+        this.bucket = new int[capacity];
+        this.table = new int[Integer.highestOneBit(capacity - 1) << 2];
+        this.currentTick = startEpochSecond;
+        Arrays.fill(heads, NIL);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long currentTick() {
+        return currentTick;
+    }
+
+    public boolean contains(long msb, long lsb) {
+        return find(msb, lsb) != NIL;
+    }
+
+    /** Adds the id, or moves it if already present. Due times at or before the current tick fire on the next advance. */
+    public void schedule(long msb, long lsb, long dueEpochSecond) {
+        int e = find(msb, lsb);
+        if (e == NIL) {
+            e = allocate();
+            idMsb[e] = msb;
+            idLsb[e] = lsb;
+            insertIntoTable(e);
+            size++;
+        } else {
+            unlink(e);
+        }
+        due[e] = dueEpochSecond;
+        place(e);
+    }
+
+    public boolean remove(long msb, long lsb) {
+        int e = find(msb, lsb);
+        if (e == NIL) {
+            return false;
+        }
+        unlink(e);
+        release(e);
+        return true;
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowEpochSecond}, handing every entry due by then to the
+     * consumer. Returns the number of fired entries.
+     */
+    public int advance(long nowEpochSecond, DueConsumer consumer) {
+        return advance(nowEpochSecond, Integer.MAX_VALUE, consumer);
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowEpochSecond} and hands at most {@code limit} of the
+     * entries due by then to the consumer, oldest due time first. The rest stay due and come out
+     * first on the next advance. Returns the number of fired entries.
+     */
+    public int advance(long nowEpochSecond, int limit, DueConsumer consumer) {
+        while (currentTick < nowEpochSecond) {
+            long tick = ++currentTick;
+            int top = 0;
+            while (top < LEVELS && (tick & ((1L << (SLOT_BITS * (top + 1))) - 1)) == 0) {
+                top++;
+            }
+            // Cascade from the highest level whose digit rolled over down to level 1
+            for (int level = top; level >= 1; level--) {
+                cascade(level == LEVELS ? OVERFLOW : slot(level, tick));
+            }
+            collectDue(slot(0, tick));
+        }
+        int fired = 0;
+        while (fired < limit && overdueSize > 0) {
+            int e = overdue[0];
+            removeOverdue(0);
+            long msb = idMsb[e];
+            long lsb = idLsb[e];
+            long d = due[e];
+            release(e);
+            consumer.accept(msb, lsb, d);
+            fired++;
+        }
+        return fired;
+    }
+
+    private static int slot(int level, long tick) {
+        return level * SLOTS + (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    private void place(int e) {
+        long d = due[e];
+        if (d <= currentTick) {
+            addOverdue(e);
+            return;
+        }
+        int b = OVERFLOW;
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = SLOT_BITS * (level + 1);
+            if ((d >>> shift) == (currentTick >>> shift)) {
+                b = slot(level, d);
+                break;
+            }
+        }
+        link(e, b);
+    }
+
+    private void cascade(int b) {
+        int e = heads[b];
+        heads[b] = NIL;
+        while (e != NIL) {
+            int following = next[e];
+            place(e);
+            e = following;
+        }
+    }
+
+    private void collectDue(int b) {
+        int e = heads[b];
+        heads[b] = NIL;
+        while (e != NIL) {
+            int following = next[e];
+            addOverdue(e);
+            e = following;
+        }
+    }
+
+    private void addOverdue(int e) {
+        if (overdueSize == overdue.length) {
+            overdue = Arrays.copyOf(overdue, overdueSize * 2);
+        }
+        bucket[e] = OVERDUE;
+        siftUp(overdueSize++, e);
+    }
+
+    private void removeOverdue(int i) {
+        int last = overdue[--overdueSize];
+        if (i < overdueSize) {
+            siftDown(i, last);
+            if (overdue[i] == last) {
+                siftUp(i, last);
+            }
+        }
+    }
+
+    private void siftUp(int i, int e) {
+        long d = due[e];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int p = overdue[parent];
+            if (due[p] <= d) {
+                break;
+            }
+            overdue[i] = p;
+            prev[p] = i;
+            i = parent;
+        }
+        overdue[i] = e;
+        prev[e] = i;
+    }
+
+    private void siftDown(int i, int e) {
+        long d = due[e];
+        int half = overdueSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < overdueSize && due[overdue[right]] < due[overdue[child]]) {
+                child = right;
+            }
+            int c = overdue[child];
+            if (d <= due[c]) {
+                break;
+            }
+            overdue[i] = c;
+            prev[c] = i;
+            i = child;
+        }
+        overdue[i] = e;
+        prev[e] = i;
+    }
+
+    private void link(int e, int b) {
+        int head = heads[b];
+        prev[e] = NIL;
+        next[e] = head;
+        if (head != NIL) {
+            prev[head] = e;
+        }
+        heads[b] = e;
+        bucket[e] = b;
+    }
+
+    private void unlink(int e) {
+        int b = bucket[e];
+        if (b == OVERDUE) {
+            removeOverdue(prev[e]);
+            return;
+        }
+        int p = prev[e];
+        int n = next[e];
+        if (p != NIL) {
+            next[p] = n;
+        } else if (heads[b] == e) {
+            heads[b] = n;
+        }
+        if (n != NIL) {
+            prev[n] = p;
+        }
+    }
+
+    private int allocate() {
+        if (freeHead != NIL) {
+            int e = freeHead;
+            freeHead = next[e];
+            return e;
+        }
+        if (allocated == idMsb.length) {
+            grow();
+        }
+        return allocated++;
+    }
+
+    // Entry must already be detached from its slot list or the overdue heap
+    private void release(int e) {
+        removeFromTable(e);
+        bucket[e] = NIL;
+        next[e] = freeHead;
+        freeHead = e;
+        size--;
+    }
+
+    private void grow() {
+        int capacity = idMsb.length * 2;
+        idMsb = Arrays.copyOf(idMsb, capacity);
+        idLsb = Arrays.copyOf(idLsb, capacity);
+        due = Arrays.copyOf(due, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+        bucket = Arrays.copyOf(bucket, capacity);
+    }
+
+    private static int hash(long msb, long lsb) {
+        long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int find(long msb, long lsb) {
+        int mask = table.length - 1;
+        int i = hash(msb, lsb) & mask;
+        while (true) {
+            int v = table[i];
+            if (v == 0) {
+                return NIL;
+            }
+            int e = v - 1;
+            if (idMsb[e] == msb && idLsb[e] == lsb) {
+                return e;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private void insertIntoTable(int e) {
+        // Keep the load factor at or below 1/2
+        if ((size + 1) * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        int mask = table.length - 1;
+        int i = hash(idMsb[e], idLsb[e]) & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        table[i] = e + 1;
+    }
+
+    private void rehash(int length) {
+        int[] old = table;
+        table = new int[length];
+        int mask = length - 1;
+        for (int v : old) {
+            if (v != 0) {
+                int e = v - 1;
+                int i = hash(idMsb[e], idLsb[e]) & mask;
+                while (table[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = v;
+            }
+        }
+    }
+
+    // Linear probing removal with backward shift, so no tombstones accumulate
+    private void removeFromTable(int e) {
+        int mask = table.length - 1;
+        int i = hash(idMsb[e], idLsb[e]) & mask;
+        while (table[i] != e + 1) {
+            i = (i + 1) & mask;
+        }
+        table[i] = 0;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            int v = table[j];
+            if (v == 0) {
+                return;
+            }
+            int home = hash(idMsb[v - 1], idLsb[v - 1]) & mask;
+            boolean movable = i <= j ? (home <= i || home > j) : (home <= i && home > j);
+            if (movable) {
+                table[i] = v;
+                table[j] = 0;
+                i = j;
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.scheduler.scheduler_engine.service;
+
+import com.scheduler.scheduler_engine.config.SchedulerConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how many tasks run and persist at once, moving the cap with observed latency rather than
+ * fixing it in config (a gradient limit, as in Netflix concurrency-limits). A slot is taken when
+ * a claimed task is dispatched and freed by the state writer once the task's result is written,
+ * so the latency sample covers both execution and save. A short average of it is compared with a
+ * long one; while it stays within {@code rttTolerance} of its long-run level the limit grows by
+ * about its square root per sample, and once it rises the limit shrinks in proportion.
+ *
+ * The limit only moves while at least half of it is in use, so a quiet instance neither grows it
+ * without evidence nor reads idle latencies as headroom.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    // Averaging windows, in samples, for the short and long latency
+    private static final int SHORT_WINDOW = 10;
+    private static final int LONG_WINDOW = 600;
+
+    private final SchedulerConfig.LimiterConfig config;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Latency latency = new Latency();
+    private final Counter drops;
+    private double estimatedLimit;
+    private volatile int limit;
+
+    public AdaptiveConcurrencyLimiter(SchedulerConfig config, MeterRegistry meterRegistry) {
+        this.config = config.getLimiter();
+        this.estimatedLimit = Math.clamp(this.config.getInitialLimit(), this.config.getMinLimit(), this.config.getMaxLimit());
+        this.limit = (int) estimatedLimit;
+
+        Gauge.builder("scheduler.limiter.limit", this, AdaptiveConcurrencyLimiter::limit)
+                .description("Tasks allowed to execute and persist at once")
+                .register(meterRegistry);
+        Gauge.builder("scheduler.limiter.in_flight", inFlight, AtomicInteger::get)
+                .description("Tasks holding a limiter slot")
+                .register(meterRegistry);
+        this.drops = Counter.builder("scheduler.limiter.drops")
+                .description("Claimed tasks handed back because the limit was reached")
+                .register(meterRegistry);
+    }
+
+    public int limit() {
+        return config.isEnabled() ? limit : Integer.MAX_VALUE;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /** Slots left under the current limit. */
+    public int available() {
+        return config.isEnabled() ? Math.max(0, limit - inFlight.get()) : Integer.MAX_VALUE;
+    }
+
+    /** Takes a slot unless the limit is reached; a refusal counts as a drop. */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (config.isEnabled() && current >= limit) {
+                drops.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back a slot; pass the time from the run starting to its result being written, or a
+     * negative value when it says nothing about load.
+     */
+    public void release(long latencyNanos) {
+        if (latencyNanos >= 0) {
+            sample(latencyNanos);
+        }
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void sample(long nanos) {
+        latency.add(nanos);
+        if (!config.isEnabled() || inFlight.get() * 2 < estimatedLimit) {
+            return;
+        }
+        double gradient = latency.gradient(config.getRttTolerance());
+        double next = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        next = estimatedLimit * (1 - config.getSmoothing()) + next * config.getSmoothing();
+        estimatedLimit = Math.clamp(next, config.getMinLimit(), config.getMaxLimit());
+        limit = (int) estimatedLimit;
+    }
+
+    // Short and long moving averages of the latency; guarded by the limiter's lock
+    private static final class Latency {
+        private double shortNanos;
+        private double longNanos;
+        private boolean seeded;
+
+        void add(long nanos) {
+            if (!seeded) {
+                shortNanos = longNanos = nanos;
+                seeded = true;
+                return;
+            }
+            shortNanos += (nanos - shortNanos) * 2.0 / (SHORT_WINDOW + 1);
+            longNanos += (nanos - longNanos) * 2.0 / (LONG_WINDOW + 1);
+            // After an overload the long average lags well above current latency; let it catch up
+            if (longNanos > shortNanos * 2) {
+                longNanos *= 0.95;
+            }
+        }
+
+        // 1 while latency is within tolerance of its long-run level, down to 0.5 as it rises
+        double gradient(double tolerance) {
+            if (!seeded || shortNanos <= 0) {
+                return 1.0;
+            }
+            return Math.clamp(tolerance * longNanos / shortNanos, 0.5, 1.0);
+        }
+    }
+}
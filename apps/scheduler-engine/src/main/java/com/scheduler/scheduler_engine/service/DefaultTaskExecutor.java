@@ -1,5 +1,5 @@
 package com.scheduler.scheduler_engine.service;
-import com.scheduler.scheduler_engine.domain.entity.ScheduledTask;
+import com.scheduler.scheduler_engine.domain.projection.DueTask;
 import com.scheduler.scheduler_engine.logger.AppLogger;
 import org.springframework.stereotype.Component;
 
@@ -14,7 +14,7 @@ public class DefaultTaskExecutor implements TaskExecutor {
     }
 
     @Override
-    public void execute(ScheduledTask task) throws Exception {
+    public void execute(DueTask task) throws Exception {
         try {
             Thread.sleep(50);  // Simulate task execution time
         } catch (InterruptedException e) {
@@ -24,7 +24,7 @@ public class DefaultTaskExecutor implements TaskExecutor {
         }
 
         this.log.info("\u001B[35m🚀 SCHEDULED TASK EXECUTION: \u001B[32m[{}] \u001B[36m{} \u001B[33m(CRON: {})\u001B[0m", 
-                task.getSsuuid(), task.getMessage(), task.getCronExpression());
+                task.ssuuid(), task.message(), task.cronExpression());
     }
 
     @Override
@@ -0,0 +1,261 @@
+package com.scheduler.scheduler_engine.service;
+
+import com.scheduler.scheduler_engine.config.SchedulerConfig;
+import com.scheduler.scheduler_engine.domain.entity.TaskStatus;
+import com.scheduler.scheduler_engine.logger.AppLogger;
+import com.scheduler.scheduler_engine.scheduling.TaskSchedulingEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind stage for execution results. Workers hand over a completion record and move on;
+ * a single flusher thread writes them as JDBC batch UPDATEs instead of one Hibernate merge each.
+ *
+ * Crash safety comes from the claim: until its completion is flushed the row stays RUNNING under
+ * this instance's lease, so if the process dies the lease runs out and the task is recovered and
+ * run again (at-least-once). Updates are conditional on {@code claimed_by}, so a late flush never
+ * overwrites a row another instance has since recovered. Schedule changes are published only
+ * after the batch is written, so nothing is re-fired while its row still reads RUNNING.
+ */
+@Component
+public class ExecutionStateWriter {
+
+    private static final String UPDATE_SQL = """
+            UPDATE scheduled_tasks
+            SET status = ?, execution_count = ?, last_executed_at = COALESCE(?, last_executed_at), next_execution_time = ?, updated_at = ?,
+                claimed_by = NULL, lease_expires_at = NULL
+            WHERE id = ? AND claimed_by = ?
+            """;
+
+    private static final long MAX_RETRY_BACKOFF_MS = 5000L;
+    // Failed flushes of one batch before it is written record by record and failures are dropped
+    private static final int MAX_FLUSH_ATTEMPTS = 10;
+
+    /**
+     * State a finished execution leaves the row in; a null lastExecutedAt keeps the stored one.
+     * Each completion holds its task's limiter slot until it is written or given up on;
+     * startedAtNanos is when the run began, or -1 when the run is not a latency sample.
+     */
+    public record Completion(UUID taskId, String owner, TaskStatus status, int executionCount,
+                             LocalDateTime lastExecutedAt, LocalDateTime nextExecutionTime, long startedAtNanos) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskStatusCounters counters;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final SchedulerConfig.WriteBehindConfig config;
+    private final AppLogger log;
+    private final BlockingQueue<Completion> queue;
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter dropped;
+    private Thread flusher;
+    private volatile boolean running = true;
+
+    public ExecutionStateWriter(JdbcTemplate jdbcTemplate,
+                                ApplicationEventPublisher eventPublisher,
+                                TaskStatusCounters counters,
+                                AdaptiveConcurrencyLimiter limiter,
+                                SchedulerConfig config,
+                                MeterRegistry meterRegistry,
+                                AppLogger log) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.counters = counters;
+        this.limiter = limiter;
+        this.config = config.getWriteBehind();
+        this.log = log;
+        this.queue = new LinkedBlockingQueue<>(this.config.getQueueCapacity());
+
+        this.flushTimer = Timer.builder("scheduler.writebehind.flush")
+                .description("Time to write one batch of execution results")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("scheduler.writebehind.batch.size")
+                .description("Execution results written per batch")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("scheduler.writebehind.dropped")
+                .description("Execution results given up on after repeated write failures")
+                .register(meterRegistry);
+        Gauge.builder("scheduler.writebehind.pending", queue, BlockingQueue::size)
+                .description("Execution results waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (config.isEnabled()) {
+            flusher = new Thread(this::flushLoop, "execution-state-writer");
+            flusher.setDaemon(true);
+            flusher.start();
+        }
+    }
+
+    /**
+     * Queues an execution result. Blocks only when the queue is full; with write-behind disabled
+     * the row is written before returning.
+     */
+    public void submit(Completion completion) {
+        if (flusher == null) {
+            try {
+                write(List.of(completion));
+            } catch (RuntimeException e) {
+                settle(completion, false);
+                throw e;
+            }
+            settle(completion, true);
+            return;
+        }
+        try {
+            queue.put(completion);
+        } catch (InterruptedException e) {
+            // Not recorded; the lease lapses and the task is recovered
+            Thread.currentThread().interrupt();
+            settle(completion, false);
+        }
+    }
+
+    private void flushLoop() {
+        List<Completion> batch = new ArrayList<>(config.getMaxBatchSize());
+        long backoffMs = 0;
+        int attempts = 0;
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    collect(batch);
+                }
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                write(batch);
+                batch.forEach(c -> settle(c, true));
+                batch.clear();
+                backoffMs = 0;
+                attempts = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                if (++attempts >= MAX_FLUSH_ATTEMPTS) {
+                    // Isolate whatever keeps failing so it cannot hold up everything queued behind it
+                    writeEach(batch);
+                    batch.clear();
+                    backoffMs = 0;
+                    attempts = 0;
+                    continue;
+                }
+                // Keep the batch and retry; leases cover us if this never succeeds
+                backoffMs = Math.min(MAX_RETRY_BACKOFF_MS, Math.max(10L, backoffMs * 2));
+                log.error("Write-behind flush failed, retrying {} records in {}ms: {}", batch.size(), backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    // Waits for a first record, then gathers more until the batch is full or the interval is up
+    private void collect(List<Completion> batch) throws InterruptedException {
+        Completion first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getFlushIntervalMs());
+        while (batch.size() < config.getMaxBatchSize()) {
+            queue.drainTo(batch, config.getMaxBatchSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= config.getMaxBatchSize() || remaining <= 0) {
+                break;
+            }
+            Completion next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+    // Leftovers stay RUNNING under our lease; lease recovery hands them back to be run again
+    private void writeEach(List<Completion> batch) {
+        for (Completion c : batch) {
+            try {
+                write(List.of(c));
+                settle(c, true);
+            } catch (RuntimeException e) {
+                settle(c, false);
+                dropped.increment();
+                log.error("Dropping execution result for task {} after {} failed flushes, lease recovery will retry it: {}",
+                        c.taskId(), MAX_FLUSH_ATTEMPTS, e.getMessage());
+            }
+        }
+    }
+
+    private void write(List<Completion> batch) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] updated = flushTimer.record(() -> jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, c) -> {
+            ps.setString(1, c.status().name());
+            ps.setInt(2, c.executionCount());
+            ps.setTimestamp(3, c.lastExecutedAt() == null ? null : Timestamp.valueOf(c.lastExecutedAt()));
+            ps.setTimestamp(4, c.nextExecutionTime() == null ? null : Timestamp.valueOf(c.nextExecutionTime()));
+            ps.setTimestamp(5, now);
+            ps.setObject(6, c.taskId());
+            ps.setString(7, c.owner());
+        }));
+        batchSizes.record(batch.size());
+
+        for (int i = 0; i < batch.size(); i++) {
+            Completion c = batch.get(i);
+            // 0 means the claim was lost to lease recovery and the row is someone else's now
+            if (updated[0][i] == 0) {
+                continue;
+            }
+            counters.transition(TaskStatus.RUNNING, c.status(), 1);
+            if (c.status() == TaskStatus.PENDING) {
+                eventPublisher.publishEvent(TaskSchedulingEvent.rescheduled(c.taskId(), c.nextExecutionTime()));
+            }
+        }
+    }
+
+    // Frees the task's limiter slot; a written result's run-to-saved time is the latency sample
+    private void settle(Completion c, boolean written) {
+        limiter.release(written && c.startedAtNanos() >= 0 ? System.nanoTime() - c.startedAtNanos() : -1L);
+    }
+
+    /** Writes out everything still queued before the datasource goes away. */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (flusher == null) {
+            return;
+        }
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Write-behind stopped with {} unwritten results; their leases will expire", queue.size());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.scheduler.scheduler_engine.service;
+
+import com.scheduler.scheduler_engine.config.SchedulerConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded LRU of (ssuuid, idempotency key) to task id, so a retried registration is answered
+ * without validation or an insert. A miss is not authoritative: the unique index decides.
+ * A hit is, and costs no query: every path on this instance that frees a key (DeleteTask,
+ * cleanup, archival) evicts it as it goes. Deletes made by other instances are not heard about,
+ * so entries also expire after the cleanup interval; that bounds how long a key freed elsewhere
+ * can still answer here. Entries are added after the registering transaction commits, so a
+ * rolled-back task is never handed out.
+ */
+@Component
+public class IdempotencyCache {
+
+    private final Map<String, Entry> entries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter expired;
+
+    @Autowired
+    public IdempotencyCache(SchedulerConfig config, MeterRegistry meterRegistry) {
+        this(config, meterRegistry, System::nanoTime);
+    }
+
+    IdempotencyCache(SchedulerConfig config, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.clock = clock;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(config.getTask().getCleanupIntervalMs());
+        int maxSize = config.getTask().getIdempotencyCacheSize();
+        this.entries = new LinkedHashMap<>(Math.min(maxSize, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.hits = Counter.builder("scheduler.idempotency.cache")
+                .description("Registrations looked up by idempotency key")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("scheduler.idempotency.cache")
+                .description("Registrations looked up by idempotency key")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.expired = Counter.builder("scheduler.idempotency.cache")
+                .description("Registrations looked up by idempotency key")
+                .tag("result", "expired")
+                .register(meterRegistry);
+        Gauge.builder("scheduler.idempotency.cache.size", this, IdempotencyCache::size)
+                .description("Idempotency keys held in memory")
+                .register(meterRegistry);
+    }
+
+    /** The task registered under this key, if this instance has seen the key recently. */
+    public UUID get(String ssuuid, String idempotencyKey) {
+        String key = key(ssuuid, idempotencyKey);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && clock.getAsLong() - entry.storedAt >= ttlNanos) {
+                entries.remove(key);
+                expired.increment();
+                return null;
+            }
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.taskId;
+    }
+
+    /** Remembers the key once the current transaction commits, or right away outside one. */
+    public void put(String ssuuid, String idempotencyKey, UUID taskId) {
+        String key = key(ssuuid, idempotencyKey);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    store(key, taskId);
+                }
+            });
+        } else {
+            store(key, taskId);
+        }
+    }
+
+    // A deleted task frees its key, so a later registration must reach the database
+    public void invalidate(String ssuuid, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.remove(key(ssuuid, idempotencyKey));
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void store(String key, UUID taskId) {
+        Entry entry = new Entry(taskId, clock.getAsLong());
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    private static String key(String ssuuid, String idempotencyKey) {
+        return ssuuid + '\0' + idempotencyKey;
+    }
+
+    private record Entry(UUID taskId, long storedAt) {
+    }
+}
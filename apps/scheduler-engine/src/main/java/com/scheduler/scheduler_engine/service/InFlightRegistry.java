@@ -0,0 +1,132 @@
+package com.scheduler.scheduler_engine.service;
+
+import com.scheduler.scheduler_engine.config.SchedulerConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Task ids this instance has accepted and not yet finished, whether still queued for a worker or
+ * running. Capacity is the worker count plus the dispatch queue, so a tick can ask how many slots
+ * are free before claiming anything, and a task already in flight is never admitted twice.
+ */
+@Component
+public class InFlightRegistry {
+
+    // true once a worker has picked the task up
+    private final Map<UUID, Boolean> inFlight = new ConcurrentHashMap<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final int capacity;
+    private final Counter rejected;
+    private final Counter duplicates;
+    private final Timer startLag;
+    // Smoothed start lag in ms (double bits) and when it was last updated
+    private final AtomicLong lagEwma = new AtomicLong(Double.doubleToLongBits(0.0));
+    private volatile long lagUpdatedAt = System.currentTimeMillis();
+
+    public InFlightRegistry(SchedulerConfig config, MeterRegistry meterRegistry) {
+        SchedulerConfig.ExecutorConfig executor = config.getExecutor();
+        int workers = executor.getMode() == SchedulerConfig.ExecutionMode.VIRTUAL
+                ? executor.getMaxConcurrentExecutions()
+                : executor.getThreadPoolSize();
+        this.capacity = workers + executor.getDispatchQueueCapacity();
+
+        Gauge.builder("scheduler.dispatch.in_flight", inFlight, Map::size)
+                .description("Tasks accepted for execution and not yet finished")
+                .register(meterRegistry);
+        Gauge.builder("scheduler.dispatch.queue.depth", this, InFlightRegistry::queueDepth)
+                .description("Accepted tasks waiting for a worker")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("scheduler.dispatch.rejected")
+                .description("Claimed tasks handed back because no execution slot was free")
+                .register(meterRegistry);
+        this.duplicates = Counter.builder("scheduler.dispatch.duplicates.avoided")
+                .description("Due tasks skipped because they were already queued or running")
+                .register(meterRegistry);
+        this.startLag = Timer.builder("scheduler.dispatch.lag")
+                .description("How long after its due time a task started running")
+                .register(meterRegistry);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int freeSlots() {
+        return Math.max(0, capacity - inFlight.size());
+    }
+
+    public boolean isInFlight(UUID taskId) {
+        return inFlight.containsKey(taskId);
+    }
+
+    public void recordDuplicate() {
+        duplicates.increment();
+    }
+
+    public void recordRejected() {
+        rejected.increment();
+    }
+
+    /** Accepts the task unless it is already in flight or every slot is taken. */
+    public boolean tryAdmit(UUID taskId) {
+        if (inFlight.size() >= capacity) {
+            rejected.increment();
+            return false;
+        }
+        if (inFlight.putIfAbsent(taskId, Boolean.FALSE) != null) {
+            duplicates.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public void started(UUID taskId) {
+        if (inFlight.replace(taskId, Boolean.FALSE, Boolean.TRUE)) {
+            running.incrementAndGet();
+        }
+    }
+
+    public void finished(UUID taskId) {
+        if (Boolean.TRUE.equals(inFlight.remove(taskId))) {
+            running.decrementAndGet();
+        }
+    }
+
+    /** Same as {@link #started(UUID)}, also recording how late the task started. */
+    public void started(UUID taskId, LocalDateTime dueAt) {
+        started(taskId);
+        if (dueAt != null) {
+            long lagMs = Math.max(0L, Duration.between(dueAt, LocalDateTime.now()).toMillis());
+            startLag.record(lagMs, TimeUnit.MILLISECONDS);
+            lagEwma.updateAndGet(bits -> Double.doubleToLongBits(
+                    0.8 * Double.longBitsToDouble(bits) + 0.2 * lagMs));
+            lagUpdatedAt = System.currentTimeMillis();
+        }
+    }
+
+    /** Recent start lag in ms, smoothed over the last few starts. */
+    public double startLagMillis() {
+        return Double.longBitsToDouble(lagEwma.get());
+    }
+
+    /** How long ago a worker last picked up a task. */
+    public long millisSinceLastStart() {
+        return System.currentTimeMillis() - lagUpdatedAt;
+    }
+
+    public int queueDepth() {
+        return Math.max(0, inFlight.size() - running.get());
+    }
+}
@@ -0,0 +1,197 @@
+package com.scheduler.scheduler_engine.service;
+
+import com.scheduler.scheduler_engine.config.SchedulerConfig;
+import com.scheduler.scheduler_engine.logger.AppLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Moves tasks soft-deleted longer than the retention out of {@code scheduled_tasks} into the
+ * month-partitioned {@code scheduled_tasks_archive}, and drops archive months past their own
+ * retention. Each chunk is one auto-committed DELETE ... RETURNING feeding an INSERT, so a row is
+ * either still hot or already archived, never both or neither. The chunk also returns each moved
+ * row's idempotency key, which is evicted from the {@link IdempotencyCache}.
+ */
+@Service
+public class TaskArchiveService {
+
+    private static final String ARCHIVE_TABLE = "scheduled_tasks_archive";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    // One row per moved task; the INSERT runs in full although only the keys are read back
+    private static final String MOVE_SQL = """
+            WITH moved AS (
+                DELETE FROM scheduled_tasks
+                WHERE id IN (
+                    SELECT id FROM scheduled_tasks
+                    WHERE deleted_at < ?
+                    ORDER BY deleted_at
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING id, ssuuid, message, cron_expression, status, execution_count,
+                          created_at, updated_at, last_executed_at, next_execution_time, deleted_at,
+                          idempotency_key),
+            archived AS (
+                INSERT INTO scheduled_tasks_archive (id, ssuuid, message, cron_expression, status, execution_count,
+                                                     created_at, updated_at, last_executed_at, next_execution_time,
+                                                     deleted_at, archived_at)
+                SELECT id, ssuuid, message, cron_expression, status, execution_count,
+                       created_at, updated_at, last_executed_at, next_execution_time, deleted_at, ?
+                FROM moved)
+            SELECT ssuuid, idempotency_key FROM moved
+            """;
+
+    private static final String PARTITIONS_SQL = """
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SchedulerConfig.ArchiveConfig config;
+    private final IdempotencyCache idempotencyCache;
+    private final AppLogger log;
+    private final Counter archivedRows;
+    private final Counter droppedPartitions;
+    private final Timer chunkTimer;
+    // Months whose partition is known to exist, so DDL runs once per month per instance
+    private final Set<YearMonth> partitions = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopping;
+
+    public TaskArchiveService(JdbcTemplate jdbcTemplate,
+                              SchedulerConfig config,
+                              IdempotencyCache idempotencyCache,
+                              MeterRegistry meterRegistry,
+                              AppLogger log) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = config.getArchive();
+        this.idempotencyCache = idempotencyCache;
+        this.log = log;
+        this.archivedRows = Counter.builder("scheduler.archive.rows")
+                .description("Soft-deleted tasks moved to the archive")
+                .register(meterRegistry);
+        this.droppedPartitions = Counter.builder("scheduler.archive.partitions.dropped")
+                .description("Archive months dropped after their retention")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("scheduler.archive.chunk")
+                .description("Time to move one chunk of deleted tasks to the archive")
+                .register(meterRegistry);
+    }
+
+    /** One archival pass: move expired soft-deleted rows, then drop expired archive months. */
+    public long archive() {
+        if (!config.isEnabled()) {
+            return 0;
+        }
+        long moved = 0;
+        try {
+            moved = archiveDeletedTasks(LocalDateTime.now().minusDays(config.getRetentionDays()));
+            if (config.getArchiveRetentionMonths() > 0) {
+                dropExpiredPartitions(YearMonth.now().minusMonths(config.getArchiveRetentionMonths()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Error during task archival after {} tasks", moved, e);
+        }
+        return moved;
+    }
+
+    private long archiveDeletedTasks(LocalDateTime threshold) throws InterruptedException {
+        LocalDateTime oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(deleted_at) FROM scheduled_tasks WHERE deleted_at < ?",
+                LocalDateTime.class, Timestamp.valueOf(threshold));
+        if (oldest == null) {
+            return 0;
+        }
+        for (YearMonth month = YearMonth.from(oldest); !month.isAfter(YearMonth.from(threshold)); month = month.plusMonths(1)) {
+            ensurePartition(month);
+        }
+
+        long total = 0;
+        while (!stopping && !Thread.currentThread().isInterrupted()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<MovedKey> keys = chunkTimer.record(() -> jdbcTemplate.query(MOVE_SQL,
+                    (rs, i) -> new MovedKey(rs.getString("ssuuid"), rs.getString("idempotency_key")),
+                    Timestamp.valueOf(threshold), config.getChunkSize(), now));
+            int moved = keys.size();
+            if (moved == 0) {
+                break;
+            }
+            keys.forEach(key -> idempotencyCache.invalidate(key.ssuuid(), key.idempotencyKey()));
+            total += moved;
+            archivedRows.increment(moved);
+            log.debug("Archived {} deleted tasks, {} so far", moved, total);
+            if (moved < config.getChunkSize()) {
+                break;
+            }
+            Thread.sleep(config.getChunkPauseMs());
+        }
+        if (total > 0) {
+            log.info("Archived {} tasks deleted before {}", total, threshold);
+        }
+        return total;
+    }
+
+    private void ensurePartition(YearMonth month) {
+        if (partitions.contains(month)) {
+            return;
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month)
+                + " PARTITION OF " + ARCHIVE_TABLE
+                + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        partitions.add(month);
+    }
+
+    // Dropping a partition is a catalog change, not a scan of its rows
+    private void dropExpiredPartitions(YearMonth cutoff) {
+        List<String> names = jdbcTemplate.queryForList(PARTITIONS_SQL, String.class, ARCHIVE_TABLE);
+        for (String name : names) {
+            YearMonth month = monthOf(name);
+            if (month != null && month.isBefore(cutoff)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + name);
+                partitions.remove(month);
+                droppedPartitions.increment();
+                log.info("Dropped archive partition {}", name);
+            }
+        }
+    }
+
+    static String partitionName(YearMonth month) {
+        return ARCHIVE_TABLE + "_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    // null for anything not created by this service
+    static YearMonth monthOf(String partitionName) {
+        String prefix = ARCHIVE_TABLE + "_p";
+        if (!partitionName.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partitionName.substring(prefix.length()), PARTITION_SUFFIX);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+    }
+
+    private record MovedKey(String ssuuid, String idempotencyKey) {
+    }
+}
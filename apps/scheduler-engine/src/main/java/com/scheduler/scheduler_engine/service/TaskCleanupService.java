@@ -0,0 +1,157 @@
+package com.scheduler.scheduler_engine.service;
+
+import com.scheduler.scheduler_engine.config.SchedulerConfig;
+import com.scheduler.scheduler_engine.domain.entity.TaskStatus;
+import com.scheduler.scheduler_engine.logger.AppLogger;
+import com.scheduler.scheduler_engine.scheduling.TaskSchedulingEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Soft-deletes stale tasks with set-based UPDATEs in bounded chunks. Each chunk is a single
+ * auto-committed statement, so no transaction or lock outlives one chunk, and nothing is loaded
+ * beyond the chunk's ids. Chunks walk the primary key ({@code id > cursor ORDER BY id}), so a
+ * run reads the index once instead of rescanning rows earlier chunks already deleted. Each
+ * chunk returns the idempotency keys it freed, which are evicted from the {@link IdempotencyCache}.
+ */
+@Service
+public class TaskCleanupService {
+
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    // Rows locked by a claim or a concurrent update are skipped and picked up by the next run
+    private static final String CHUNK_SQL = """
+            WITH chunk AS (
+                SELECT id FROM scheduled_tasks
+                WHERE id > ? AND status = 'PENDING' AND deleted_at IS NULL AND created_at < ?
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            UPDATE scheduled_tasks t SET status = 'DELETED', deleted_at = ?, updated_at = ?
+            FROM chunk WHERE t.id = chunk.id
+            RETURNING t.id, t.ssuuid, t.idempotency_key
+            """;
+
+    private static final RowMapper<DeletedTask> DELETED_TASK = (rs, i) -> new DeletedTask(
+            rs.getObject("id", UUID.class), rs.getString("ssuuid"), rs.getString("idempotency_key"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SchedulerConfig.TaskConfig config;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskStatusCounters counters;
+    private final IdempotencyCache idempotencyCache;
+    private final AppLogger log;
+    private final Counter deletedRows;
+    private final Timer chunkTimer;
+    private volatile boolean stopping;
+
+    public TaskCleanupService(JdbcTemplate jdbcTemplate,
+                              SchedulerConfig config,
+                              ApplicationEventPublisher eventPublisher,
+                              TaskStatusCounters counters,
+                              IdempotencyCache idempotencyCache,
+                              MeterRegistry meterRegistry,
+                              AppLogger log) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.config = config.getTask();
+        this.eventPublisher = eventPublisher;
+        this.counters = counters;
+        this.idempotencyCache = idempotencyCache;
+        this.log = log;
+        this.deletedRows = Counter.builder("scheduler.cleanup.rows")
+                .description("Stale tasks soft-deleted by cleanup")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("scheduler.cleanup.chunk")
+                .description("Time to soft-delete one cleanup chunk")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Soft-deletes every pending task created before the stale threshold, one chunk at a time
+     * with a pause between chunks. Stops early on shutdown or interrupt; the next run resumes
+     * from the start of the key space. Returns the number of rows deleted.
+     */
+    public long cleanupOldTasks() {
+        if (!config.isCleanupEnabled()) {
+            return 0;
+        }
+        LocalDateTime threshold = LocalDateTime.now().minusHours(config.getCleanupStaleAfterHours());
+        UUID cursor = MIN_UUID;
+        long total = 0;
+        int chunks = 0;
+
+        try {
+            while (!stopping && !Thread.currentThread().isInterrupted()) {
+                List<DeletedTask> deleted = deleteChunk(cursor, threshold);
+                if (deleted.isEmpty()) {
+                    break;
+                }
+                chunks++;
+                total += deleted.size();
+                deletedRows.increment(deleted.size());
+                counters.transition(TaskStatus.PENDING, TaskStatus.DELETED, deleted.size());
+                for (DeletedTask task : deleted) {
+                    idempotencyCache.invalidate(task.ssuuid(), task.idempotencyKey());
+                    eventPublisher.publishEvent(TaskSchedulingEvent.cancelled(task.id()));
+                }
+                cursor = maxId(deleted.stream().map(DeletedTask::id).toList());
+                log.debug("Cleanup chunk {}: {} tasks deleted, {} so far", chunks, deleted.size(), total);
+
+                if (deleted.size() < config.getCleanupChunkSize()) {
+                    break;
+                }
+                Thread.sleep(config.getCleanupChunkPauseMs());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Error during task cleanup after {} tasks", total, e);
+        }
+
+        if (total > 0) {
+            log.info("Cleaned up {} stale tasks older than {} hours in {} chunks",
+                    total, config.getCleanupStaleAfterHours(), chunks);
+        }
+        return total;
+    }
+
+    private List<DeletedTask> deleteChunk(UUID after, LocalDateTime threshold) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return chunkTimer.record(() -> jdbcTemplate.query(CHUNK_SQL, DELETED_TASK,
+                after, Timestamp.valueOf(threshold), config.getCleanupChunkSize(), now, now));
+    }
+
+    // RETURNING is unordered; Postgres orders uuids bytewise, i.e. unsigned msb then lsb
+    static UUID maxId(List<UUID> ids) {
+        UUID max = ids.get(0);
+        for (UUID id : ids) {
+            int cmp = Long.compareUnsigned(id.getMostSignificantBits(), max.getMostSignificantBits());
+            if (cmp == 0) {
+                cmp = Long.compareUnsigned(id.getLeastSignificantBits(), max.getLeastSignificantBits());
+            }
+            if (cmp > 0) {
+                max = id;
+            }
+        }
+        return max;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+    }
+
+    private record DeletedTask(UUID id, String ssuuid, String idempotencyKey) {
+    }
+}
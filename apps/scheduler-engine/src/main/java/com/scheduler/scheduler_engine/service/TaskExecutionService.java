@@ -3,16 +3,33 @@ package com.scheduler.scheduler_engine.service;
 import com.scheduler.scheduler_engine.config.SchedulerConfig;
 import com.scheduler.scheduler_engine.domain.entity.ScheduledTask;
 import com.scheduler.scheduler_engine.domain.entity.TaskStatus;
+import com.scheduler.scheduler_engine.domain.projection.DueTask;
+import com.scheduler.scheduler_engine.domain.projection.TaskDueTime;
+import com.scheduler.scheduler_engine.domain.repository.TaskDispatchRepository;
 import com.scheduler.scheduler_engine.domain.repository.ScheduledTaskRepository;
+import com.scheduler.scheduler_engine.scheduling.EpochZone;
+import com.scheduler.scheduler_engine.scheduling.TaskSchedulingEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.annotation.PreDestroy;
+import java.lang.management.ManagementFactory;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import com.scheduler.scheduler_engine.logger.AppLogger;
@@ -21,134 +38,296 @@ import com.scheduler.scheduler_engine.logger.AppLogger;
 public class TaskExecutionService {
 
     private final ScheduledTaskRepository scheduledTaskRepository;
+    private final TaskDispatchRepository dispatchRepository;
     private final SchedulerConfig config;
     private final TaskExecutor taskExecutor;
     private final TaskRetryService retryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InFlightRegistry inFlight;
+    private final ExecutionStateWriter stateWriter;
+    private final TaskStatusCounters counters;
+    private final AdaptiveConcurrencyLimiter limiter;
     private final AppLogger log;
     private final Executor executorService;
+    // Only set in virtual mode, where the pool no longer caps concurrency
+    private final Semaphore executionPermits;
+    private final String instanceId;
 
     public TaskExecutionService(
         ScheduledTaskRepository scheduledTaskRepository,
+        TaskDispatchRepository dispatchRepository,
         SchedulerConfig config,
         TaskExecutor taskExecutor,
         TaskRetryService retryService,
+        ApplicationEventPublisher eventPublisher,
+        InFlightRegistry inFlight,
+        ExecutionStateWriter stateWriter,
+        TaskStatusCounters counters,
+        AdaptiveConcurrencyLimiter limiter,
         AppLogger log) {
         this.scheduledTaskRepository = scheduledTaskRepository;
+        this.dispatchRepository = dispatchRepository;
         this.config = config;
         this.taskExecutor = taskExecutor;
         this.retryService = retryService;
+        this.eventPublisher = eventPublisher;
+        this.inFlight = inFlight;
+        this.stateWriter = stateWriter;
+        this.counters = counters;
+        this.limiter = limiter;
         this.log = log;
-        this.executorService = Executors.newFixedThreadPool(
-            config.getExecutor().getThreadPoolSize(),
-            r -> {
-                Thread t = new Thread(r, "task-executor");
-                t.setDaemon(true);
-                return t;
-            }
-        );
+        String configuredId = config.getDispatch().getInstanceId();
+        this.instanceId = configuredId == null || configuredId.isBlank()
+            ? ManagementFactory.getRuntimeMXBean().getName()
+            : configuredId;
+        if (config.getExecutor().getMode() == SchedulerConfig.ExecutionMode.VIRTUAL) {
+            this.executorService = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("task-executor-", 0).factory());
+            this.executionPermits = new Semaphore(config.getExecutor().getMaxConcurrentExecutions());
+        } else {
+            // Bounded hand-off queue; the in-flight registry keeps submissions within it
+            int poolSize = config.getExecutor().getThreadPoolSize();
+            int queueCapacity = config.getExecutor().getDispatchQueueCapacity();
+            this.executorService = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>(),
+                r -> {
+                    Thread t = new Thread(r, "task-executor");
+                    t.setDaemon(true);
+                    return t;
+                }
+            );
+            this.executionPermits = null;
+        }
     }
 
   
     @Transactional
     public void executePendingTasks(long threadId) {
         try {
+            int slots = availableSlots();
+            if (slots == 0) {
+                log.debug("No free execution slots, skipping tick on thread: {}", threadId);
+                return;
+            }
             LocalDateTime now = LocalDateTime.now();
-            List<ScheduledTask> pendingTasks = scheduledTaskRepository.findPendingTasksForExecution(now);
+            List<DueTask> pendingTasks = dispatchRepository.claimDueTasks(
+                instanceId, now, leaseUntil(now), slots);
             
             if (pendingTasks.isEmpty()) {
                 log.info("No Found pending task to execute on thread: {}", threadId);
                 return; 
             }
+            counters.transition(TaskStatus.PENDING, TaskStatus.RUNNING, pendingTasks.size());
 
             log.info("\u001B[32m⏰ Found {} tasks due for execution on thread: {}\u001B[0m", pendingTasks.size(), threadId);
-
-            
-            int maxConcurrent = Math.min(pendingTasks.size(), config.getTask().getMaxConcurrentTasks());
-            
-            List<CompletableFuture<Void>> futures = pendingTasks.stream()
-                .limit(maxConcurrent)
-                .map(task -> CompletableFuture.runAsync(() -> {
-                    try {
-                        executeTask(task);
-                    } catch (Exception e) {
-                        log.error("Task execution failed: taskId={}, error={}", 
-                                task.getId(), e.getMessage());
-                        handleTaskExecutionError(task, e);
-                    }
-                }, executorService))
-                .toList();
-
-            
-            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-                .whenComplete((result, throwable) -> {
-                    if (throwable != null) {
-                        log.error("Error in batch execution", throwable);
-                    } else {
-                        log.debug("Batch execution completed: {} tasks", futures.size());
-                    }
-                });
+            dispatch(withMessages(pendingTasks));
 
         } catch (Exception e) {
             log.error("Error in task execution cycle: error={}", e.getMessage(), e);
         }
     }
 
+    /**
+     * Runs tasks handed out by the due-time index or the prefetch queue. Only the ids this instance
+     * manages to claim run; anything deleted, claimed elsewhere or moved to a later time since it
+     * was queued is skipped. Failures propagate so the caller can put the ids back.
+     */
     @Transactional
-    public void cleanupOldTasks() {
-        if (!config.getTask().isCleanupEnabled()) {
+    public void executeDueTasks(List<UUID> taskIds, long threadId) {
+        if (taskIds.isEmpty()) {
             return;
         }
+        List<UUID> candidates = taskIds.stream()
+            .filter(id -> {
+                if (inFlight.isInFlight(id)) {
+                    inFlight.recordDuplicate();
+                    return false;
+                }
+                return true;
+            })
+            .toList();
+        if (candidates.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<DueTask> dueTasks = dispatchRepository.claimTasks(candidates, instanceId, now, leaseUntil(now));
+        counters.transition(TaskStatus.PENDING, TaskStatus.RUNNING, dueTasks.size());
+
+        if (dueTasks.size() < candidates.size()) {
+            requeueRescheduled(candidates, dueTasks, now);
+        }
+        if (dueTasks.isEmpty()) {
+            return;
+        }
+
+        log.info("\u001B[32m⏰ {} queued tasks due for execution on thread: {}\u001B[0m", dueTasks.size(), threadId);
+        dispatch(withMessages(dueTasks));
+    }
+
+    // One bulk query for the batch's messages, and none at all if the executor does not use them
+    private List<DueTask> withMessages(List<DueTask> tasks) {
+        if (!taskExecutor.requiresMessage()) {
+            return tasks;
+        }
+        Map<UUID, String> messages = dispatchRepository.findMessages(tasks.stream().map(DueTask::id).toList());
+        return tasks.stream().map(task -> task.withMessage(messages.get(task.id()))).toList();
+    }
+
+    // Ids that were not claimable because their row moved to a later time go back in the queue
+    private void requeueRescheduled(List<UUID> taskIds, List<DueTask> claimed, LocalDateTime now) {
+        Set<UUID> claimedIds = claimed.stream().map(DueTask::id).collect(Collectors.toSet());
+        List<UUID> unclaimed = taskIds.stream().filter(id -> !claimedIds.contains(id)).toList();
+        scheduledTaskRepository.findAllById(unclaimed).stream()
+            .filter(task -> task.getStatus() == TaskStatus.PENDING && task.getDeletedAt() == null)
+            .filter(task -> task.getNextExecutionTime() != null && task.getNextExecutionTime().isAfter(now))
+            .forEach(task -> rescheduled(task.getId(), task.getNextExecutionTime()));
+    }
+
+    /** Free execution slots: the most tasks a tick should claim right now. */
+    public int availableSlots() {
+        return Math.min(Math.min(config.getTask().getMaxConcurrentTasks(), inFlight.freeSlots()), limiter.available());
+    }
+
+    // Every task passed in is already claimed, so each one is either admitted or handed back
+    private void dispatch(List<DueTask> tasks) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(tasks.size());
+        for (DueTask task : tasks) {
+            if (!inFlight.tryAdmit(task.id())) {
+                handBack(task);
+                continue;
+            }
+            // The limit may have dropped since the tick sized its claim
+            if (!limiter.tryAcquire()) {
+                inFlight.finished(task.id());
+                handBack(task);
+                continue;
+            }
+            try {
+                futures.add(CompletableFuture.runAsync(() -> runClaimed(task), executorService));
+            } catch (RejectedExecutionException e) {
+                limiter.release(-1);
+                inFlight.finished(task.id());
+                inFlight.recordRejected();
+                handBack(task);
+            }
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    log.error("Error in batch execution", throwable);
+                } else {
+                    log.debug("Batch execution completed: {} tasks", futures.size());
+                }
+            });
+    }
 
+    // The result write runs here too, so in virtual mode it blocks a virtual thread only
+    private void runClaimed(DueTask task) {
+        if (executionPermits != null) {
+            try {
+                executionPermits.acquire();
+            } catch (InterruptedException e) {
+                // Shutting down; the claim lapses and lease recovery hands the task back
+                Thread.currentThread().interrupt();
+                inFlight.finished(task.id());
+                limiter.release(-1);
+                return;
+            }
+        }
+        inFlight.started(task.id(), task.nextExecutionTime());
+        long startedAt = System.nanoTime();
+        // The limiter slot goes with the result to the state writer, which frees it once written
+        boolean handedOver = false;
         try {
-            LocalDateTime threshold = LocalDateTime.now().minusHours(24);
-            List<ScheduledTask> staleTasks = scheduledTaskRepository.findStaleTasks(threshold);
-            
-            if (!staleTasks.isEmpty()) {
-                log.info("Cleaning up {} stale tasks older than 24 hours", staleTasks.size());
-                staleTasks.forEach(task -> {
-                    task.markAsDeleted();
-                    scheduledTaskRepository.save(task);
-                });
+            ExecutionStateWriter.Completion completion;
+            try {
+                completion = executeTask(task, startedAt);
+            } catch (Exception e) {
+                log.error("Task execution failed: taskId={}, error={}",
+                        task.id(), e.getMessage());
+                completion = handleTaskExecutionError(task, e);
+            }
+            handedOver = true;
+            stateWriter.submit(completion);
+        } catch (RuntimeException e) {
+            // Not recorded; the lease lapses and lease recovery hands the task back
+            log.error("Recording task result failed: taskId={}, error={}", task.id(), e.getMessage());
+        } finally {
+            inFlight.finished(task.id());
+            if (!handedOver) {
+                limiter.release(-1);
+            }
+            if (executionPermits != null) {
+                executionPermits.release();
             }
+        }
+    }
 
-        } catch (Exception e) {
-            log.error("Error during task cleanup", e);
+    // Undo a claim that could not be admitted, so the task stays due for the next tick
+    private void handBack(DueTask task) {
+        if (dispatchRepository.release(task.id(), instanceId) > 0) {
+            counters.transition(TaskStatus.RUNNING, TaskStatus.PENDING, 1);
         }
+        rescheduled(task.id(), task.nextExecutionTime());
     }
 
-   
+    /**
+     * Returns tasks whose lease ran out, because the instance running them died, to PENDING so
+     * any instance can claim them again.
+     */
     @Transactional
-    private void executeTask(ScheduledTask task) {
-        // Mark task as running
-        task.setStatus(TaskStatus.RUNNING);
-        scheduledTaskRepository.save(task);
+    public int recoverExpiredLeases() {
+        List<TaskDueTime> released = dispatchRepository.releaseExpiredLeases(LocalDateTime.now());
+        if (!released.isEmpty()) {
+            log.warn("Recovered {} tasks with expired leases", released.size());
+            counters.transition(TaskStatus.RUNNING, TaskStatus.PENDING, released.size());
+            released.forEach(t -> rescheduled(t.id(), t.nextExecutionTime()));
+        }
+        return released.size();
+    }
 
+   
+    private ExecutionStateWriter.Completion executeTask(DueTask task, long startedAtNanos) {
+        // Already RUNNING and leased to this instance by the claim
         try {
             // Use the injected task executor (strategy pattern)
             taskExecutor.execute(task);
-            
-            // Success: increment count and schedule next execution
-            task.incrementExecutionCount();
-            task.calculateNextExecutionTime();
-            task.setStatus(TaskStatus.PENDING);
-            scheduledTaskRepository.save(task);
+
+            // Success: increment count and schedule next execution.
+            // Batched with other results; the next run is published once it is written
+            return new ExecutionStateWriter.Completion(
+                task.id(), instanceId, TaskStatus.PENDING, task.executionCount() + 1,
+                LocalDateTime.now(EpochZone.systemDefault().clock()),
+                ScheduledTask.nextExecutionTimeFor(task.cronExpression()), startedAtNanos);
 
         } catch (Exception e) {
             throw new RuntimeException("Task execution failed", e);
         }
     }
 
-    @Transactional
-    private void handleTaskExecutionError(ScheduledTask task, Exception error) {
-        if (retryService.shouldRetry(task, error)) {
-            retryService.scheduleRetry(task, error);
-            task.setStatus(TaskStatus.PENDING);
+    // Only successful runs are latency samples; a failure's timing says little about load
+    private ExecutionStateWriter.Completion handleTaskExecutionError(DueTask task, Exception error) {
+        TaskStatus status;
+        LocalDateTime nextExecution = task.nextExecutionTime();
+        if (retryService.shouldRetry(task.id(), task.executionCount(), error)) {
+            nextExecution = retryService.nextRetryTime(task.id(), task.cronExpression(), error);
+            status = TaskStatus.PENDING;
         } else {
-            log.error("Task permanently failed: taskId={}, error={}", task.getId(), error.getMessage());
-            task.setStatus(TaskStatus.FAILED);
+            log.error("Task permanently failed: taskId={}, error={}", task.id(), error.getMessage());
+            status = TaskStatus.FAILED;
         }
-        
-        scheduledTaskRepository.save(task);
+        return new ExecutionStateWriter.Completion(
+            task.id(), instanceId, status, task.executionCount(), null, nextExecution, -1L);
+    }
+
+    private void rescheduled(UUID taskId, LocalDateTime nextExecutionTime) {
+        eventPublisher.publishEvent(TaskSchedulingEvent.rescheduled(taskId, nextExecutionTime));
+    }
+
+    private LocalDateTime leaseUntil(LocalDateTime now) {
+        return now.plusNanos(config.getDispatch().getLeaseDurationMs() * 1_000_000L);
     }
 
     @PreDestroy
@@ -169,13 +348,9 @@ public class TaskExecutionService {
     }
 
  
+    // Served from the in-memory counters; exact as of the last reconcile plus local transitions
     public TaskExecutionStats getExecutionStats() {
-        long pendingCount = scheduledTaskRepository.countByStatusAndDeletedAtIsNull(TaskStatus.PENDING);
-        long runningCount = scheduledTaskRepository.countByStatusAndDeletedAtIsNull(TaskStatus.RUNNING);
-        long completedCount = scheduledTaskRepository.countByStatusAndDeletedAtIsNull(TaskStatus.COMPLETED);
-        long failedCount = scheduledTaskRepository.countByStatusAndDeletedAtIsNull(TaskStatus.FAILED);
-        
-        return new TaskExecutionStats(pendingCount, runningCount, completedCount, failedCount);
+        return counters.snapshot();
     }
 
     public static class TaskExecutionStats {
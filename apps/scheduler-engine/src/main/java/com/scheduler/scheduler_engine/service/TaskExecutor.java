@@ -1,7 +1,12 @@
 package com.scheduler.scheduler_engine.service;
-import com.scheduler.scheduler_engine.domain.entity.ScheduledTask;
+import com.scheduler.scheduler_engine.domain.projection.DueTask;
 
 public interface TaskExecutor {
-    void execute(ScheduledTask task) throws Exception;
+    void execute(DueTask task) throws Exception;
     String getExecutorType();
+
+    // When false the dispatch path skips loading messages and passes tasks with a null message
+    default boolean requiresMessage() {
+        return true;
+    }
 }
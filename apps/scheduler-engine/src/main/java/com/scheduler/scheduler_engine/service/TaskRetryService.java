@@ -2,10 +2,13 @@ package com.scheduler.scheduler_engine.service;
 
 import com.scheduler.scheduler_engine.domain.entity.ScheduledTask;
 import com.scheduler.scheduler_engine.logger.AppLogger;
+import com.scheduler.scheduler_engine.scheduling.CronExpressionCache;
 
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
 
 
@@ -19,32 +22,42 @@ public class TaskRetryService {
     }
 
     public boolean shouldRetry(ScheduledTask task, Exception error) {
+        Integer executionCount = task.getExecutionCount();
+        return shouldRetry(task.getId(), executionCount == null ? 0 : executionCount, error);
+    }
+
+    public boolean shouldRetry(UUID taskId, int executionCount, Exception error) {
       
         //TODO: Future implementatoin for the failure tasks
         return true;
     }
 
     public void scheduleRetry(ScheduledTask task, Exception error) {
+        task.setNextExecutionTime(nextRetryTime(task.getId(), task.getCronExpression(), error));
+    }
+
+    public LocalDateTime nextRetryTime(UUID taskId, String cronExpression, Exception error) {
         // Calculate next execution with exponential backoff for errors
-        LocalDateTime baseNextExecution = calculateBaseNextExecution(task);
+        LocalDateTime baseNextExecution = calculateBaseNextExecution(taskId, cronExpression);
         
         // Add jitter to prevent thundering herd
         long jitterMs = ThreadLocalRandom.current().nextLong(0, 1000);
         LocalDateTime nextExecution = baseNextExecution.plusNanos(jitterMs * 1_000_000);
         
-        task.setNextExecutionTime(nextExecution);
-        
         log.warn("Task execution failed, rescheduled: taskId={}, error={}, nextExecution={}", 
-                task.getId(), error.getMessage(), nextExecution);
+                taskId, error.getMessage(), nextExecution);
+        return nextExecution;
     }
 
-    private LocalDateTime calculateBaseNextExecution(ScheduledTask task) {
+    private LocalDateTime calculateBaseNextExecution(UUID taskId, String cronExpression) {
         try {
-            task.calculateNextExecutionTime();
-            return task.getNextExecutionTime();
+            return CronExpressionCache.shared()
+                    .get(cronExpression)
+                    .nextExecutionAfter(ZonedDateTime.now())
+                    .toLocalDateTime();
         } catch (Exception e) {
             // Fallback: schedule for 5 seconds from now
-            log.warn("Failed to calculate next execution time, using fallback: taskId={}", task.getId());
+            log.warn("Failed to calculate next execution time, using fallback: taskId={}", taskId);
             return LocalDateTime.now().plusSeconds(5);
         }
     }
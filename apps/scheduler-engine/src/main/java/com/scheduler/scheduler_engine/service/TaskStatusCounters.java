@@ -0,0 +1,103 @@
+package com.scheduler.scheduler_engine.service;
+
+import com.scheduler.scheduler_engine.domain.entity.TaskStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live task counts per status, kept in memory so reading them costs a few adds rather than a
+ * count query per status. Every code path that changes a status reports it here; a periodic
+ * {@link #reconcile()} folds in what this instance cannot see (other instances, manual edits)
+ * with a single GROUP BY. Soft-deleted tasks are not counted.
+ */
+@Component
+public class TaskStatusCounters {
+
+    private final Map<TaskStatus, LongAdder> counts = new EnumMap<>(TaskStatus.class);
+    private final JdbcTemplate jdbcTemplate;
+    private volatile LocalDateTime reconciledAt;
+
+    public TaskStatusCounters(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        for (TaskStatus status : TaskStatus.values()) {
+            if (status == TaskStatus.DELETED) {
+                continue;
+            }
+            LongAdder adder = new LongAdder();
+            counts.put(status, adder);
+            Gauge.builder("scheduler.tasks", adder, LongAdder::sum)
+                    .description("Live tasks by status")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    public void created(TaskStatus status, long n) {
+        add(status, n);
+    }
+
+    /** {@code n} tasks moved from one status to another; DELETED on either side is untracked. */
+    public void transition(TaskStatus from, TaskStatus to, long n) {
+        if (n == 0 || from == to) {
+            return;
+        }
+        add(from, -n);
+        add(to, n);
+    }
+
+    public void removed(TaskStatus status, long n) {
+        add(status, -n);
+    }
+
+    public long count(TaskStatus status) {
+        LongAdder adder = counts.get(status);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public TaskExecutionService.TaskExecutionStats snapshot() {
+        return new TaskExecutionService.TaskExecutionStats(
+                count(TaskStatus.PENDING), count(TaskStatus.RUNNING),
+                count(TaskStatus.COMPLETED), count(TaskStatus.FAILED));
+    }
+
+    /** When the counters were last checked against the table; null before the first check. */
+    public LocalDateTime reconciledAt() {
+        return reconciledAt;
+    }
+
+    /**
+     * Resets the counters to the table's counts. Transitions reported while the query runs are
+     * kept on top of the result instead of being wiped by it.
+     */
+    public void reconcile() {
+        Map<TaskStatus, Long> before = new EnumMap<>(TaskStatus.class);
+        counts.forEach((status, adder) -> before.put(status, adder.sum()));
+
+        Map<TaskStatus, Long> actual = new EnumMap<>(TaskStatus.class);
+        jdbcTemplate.query("SELECT status, COUNT(*) AS n FROM scheduled_tasks WHERE deleted_at IS NULL GROUP BY status",
+                rs -> {
+                    try {
+                        actual.put(TaskStatus.valueOf(rs.getString("status")), rs.getLong("n"));
+                    } catch (IllegalArgumentException ignored) {
+                        // unknown status written outside the engine
+                    }
+                });
+
+        counts.forEach((status, adder) -> adder.add(actual.getOrDefault(status, 0L) - before.get(status)));
+        reconciledAt = LocalDateTime.now();
+    }
+
+    private void add(TaskStatus status, long n) {
+        LongAdder adder = counts.get(status);
+        if (adder != null) {
+            adder.add(n);
+        }
+    }
+}
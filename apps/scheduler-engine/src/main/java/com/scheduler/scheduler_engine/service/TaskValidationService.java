@@ -30,6 +30,12 @@ public class TaskValidationService {
         
     }
 
+    public void validateIdempotencyKey(String idempotencyKey) {
+        if (idempotencyKey != null && idempotencyKey.length() > 255) {
+            throw new SecurityException("Idempotency key too long (max 255 characters)");
+        }
+    }
+
     private void validateSsuuid(String ssuuid) {
         if (ssuuid == null || ssuuid.trim().isEmpty()) {
             throw new SecurityException("SSUUID cannot be null or empty");
@@ -0,0 +1,9 @@
+-- Ownership of a claimed (RUNNING) task: which engine instance holds it and until when.
+-- A lease that runs out without the task being released means its owner died.
+ALTER TABLE scheduled_tasks
+ADD COLUMN claimed_by VARCHAR(255),
+ADD COLUMN lease_expires_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_lease_expires_at
+    ON scheduled_tasks (lease_expires_at)
+    WHERE status = 'RUNNING';
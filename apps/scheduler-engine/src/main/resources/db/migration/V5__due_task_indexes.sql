@@ -0,0 +1,13 @@
+-- Due-task lookup: status = 'PENDING' AND deleted_at IS NULL AND next_execution_time <= :now
+-- ORDER BY next_execution_time. The partial index holds only live pending rows, already in
+-- due order, so the claim reads the head of the index instead of scanning and sorting the table.
+-- CONCURRENTLY keeps writes flowing while the indexes build; Flyway runs this script outside
+-- a transaction because every statement in it is non-transactional.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_pending_next_execution
+    ON scheduled_tasks (next_execution_time)
+    WHERE status = 'PENDING' AND deleted_at IS NULL;
+
+-- findAllPaginated by tenant: ssuuid = :ssuuid AND deleted_at IS NULL ORDER BY created_at DESC
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_ssuuid_created_at
+    ON scheduled_tasks (ssuuid, created_at DESC)
+    WHERE deleted_at IS NULL;
@@ -0,0 +1,3 @@
+-- Client-supplied key that makes a retried RegisterTask return the original task instead of
+-- creating a duplicate. Optional: tasks registered without one keep NULL.
+ALTER TABLE scheduled_tasks ADD COLUMN idempotency_key VARCHAR(255);
@@ -0,0 +1,6 @@
+-- One live task per (ssuuid, idempotency_key). Partial, so keyless tasks cost nothing in the
+-- index and a key frees up again once its task is deleted. Kept apart from V7 because
+-- CONCURRENTLY cannot share a script with transactional statements.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS idx_ssuuid_idempotency_key
+    ON scheduled_tasks (ssuuid, idempotency_key)
+    WHERE idempotency_key IS NOT NULL AND deleted_at IS NULL;
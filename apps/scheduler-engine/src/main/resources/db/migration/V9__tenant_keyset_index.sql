@@ -0,0 +1,10 @@
+-- Keyset pages by tenant: ssuuid = :ssuuid AND deleted_at IS NULL AND (created_at, id) < (:createdAt, :id)
+-- ORDER BY created_at DESC, id DESC. With id in the index the row comparison is a single seek
+-- and ties on created_at come out in order, so a deep page costs the same as the first one.
+-- Replaces idx_ssuuid_created_at, which the new index covers; built before the old one is
+-- dropped so listing is never left without an index. Both statements are non-transactional.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_ssuuid_created_at_id
+    ON scheduled_tasks (ssuuid, created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_ssuuid_created_at;
@@ -0,0 +1,61 @@
+package com.scheduler.scheduler_engine.domain.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("UuidV7 Tests")
+class UuidV7Test {
+
+    @Test
+    @DisplayName("Should produce version 7, RFC variant ids stamped with the current time")
+    void shouldSetVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.next();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        // The counter may borrow a millisecond under heavy load, never more than a few
+        assertTrue(UuidV7.timestampMillis(id) >= before);
+        assertTrue(UuidV7.timestampMillis(id) <= after + 5);
+    }
+
+    @Test
+    @DisplayName("Should be strictly increasing in Postgres byte order")
+    void shouldBeMonotonic() {
+        UUID previous = UuidV7.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID next = UuidV7.next();
+            assertTrue(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()) > 0,
+                    () -> next + " not after " + previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Should not hand out the same id to concurrent callers")
+    void shouldBeUniqueAcrossThreads() throws InterruptedException {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(UuidV7.next());
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(80_000, ids.size());
+    }
+}
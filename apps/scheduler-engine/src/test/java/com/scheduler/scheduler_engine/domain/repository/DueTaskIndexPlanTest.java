@@ -0,0 +1,150 @@
+package com.scheduler.scheduler_engine.domain.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the Postgres plans of the hot queries against the real migrations. Needs a throwaway
+ * local database, so it only runs when SCHEDULER_PLAN_DB_URL is set, e.g.
+ * {@code SCHEDULER_PLAN_DB_URL=jdbc:postgresql://localhost:5432/scheduler_plan_test}
+ * (credentials from SCHEDULER_PLAN_DB_USER / SCHEDULER_PLAN_DB_PASSWORD).
+ */
+@DisplayName("Due-task index plans (Postgres)")
+@EnabledIfEnvironmentVariable(named = "SCHEDULER_PLAN_DB_URL", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DueTaskIndexPlanTest {
+
+    private Connection connection;
+
+    @BeforeAll
+    void setUp() throws SQLException {
+        String url = System.getenv("SCHEDULER_PLAN_DB_URL");
+        String user = System.getenv().getOrDefault("SCHEDULER_PLAN_DB_USER", "postgres");
+        String password = System.getenv().getOrDefault("SCHEDULER_PLAN_DB_PASSWORD", "postgres");
+
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .locations("classpath:db/migration")
+                .cleanDisabled(false)
+                .load()
+                .clean();
+        // Same lock setting as application.yml, or the CONCURRENTLY migrations can wait on Flyway itself
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .locations("classpath:db/migration")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+
+        connection = DriverManager.getConnection(url, user, password);
+        try (Statement st = connection.createStatement()) {
+            // Enough rows, spread over tenants and states, for the statistics to mean something
+            st.execute("""
+                    INSERT INTO scheduled_tasks (id, ssuuid, message, created_at, execution_count, status, next_execution_time, deleted_at)
+                    SELECT gen_random_uuid(), 'tenant-' || (i % 500), 'message ' || i, NOW() - (i || ' seconds')::interval, 0,
+                           CASE WHEN i % 10 = 0 THEN 'FAILED' ELSE 'PENDING' END,
+                           NOW() + ((i % 3600) || ' seconds')::interval,
+                           CASE WHEN i % 20 = 0 THEN NOW() ELSE NULL END
+                    FROM generate_series(1, 50000) AS i
+                    """);
+            st.execute("ANALYZE scheduled_tasks");
+        }
+    }
+
+    @AfterAll
+    void tearDown() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should read due tasks from the partial index in due order")
+    void dueTaskLookupUsesPartialIndex() throws SQLException {
+        String plan = explain("""
+                SELECT id FROM scheduled_tasks
+                WHERE status = 'PENDING' AND deleted_at IS NULL AND next_execution_time <= NOW() + interval '1 minute'
+                ORDER BY next_execution_time
+                LIMIT 50
+                """);
+
+        assertTrue(plan.contains("idx_pending_next_execution"), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    @Test
+    @DisplayName("Should claim due tasks through the partial index")
+    void claimUsesPartialIndex() throws SQLException {
+        // The statement claimDueTasks sends; EXPLAIN without ANALYZE does not run the update
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now().plusMinutes(1));
+        String plan = explain(TaskDispatchRepository.CLAIM_DUE_SQL,
+                "plan-test", Timestamp.valueOf(LocalDateTime.now().plusMinutes(5)), now, now, 50);
+
+        assertTrue(plan.contains("idx_pending_next_execution"), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+
+    @Test
+    @DisplayName("Should page a tenant's tasks newest first without sorting")
+    void tenantPageUsesCompositeIndex() throws SQLException {
+        // The listing query as ScheduledTaskRepository issues it, id breaking created_at ties
+        String plan = explain("""
+                SELECT * FROM scheduled_tasks
+                WHERE ssuuid = 'tenant-42' AND deleted_at IS NULL
+                ORDER BY created_at DESC, id DESC
+                LIMIT 20
+                """);
+
+        assertTrue(plan.contains("idx_ssuuid_created_at_id"), plan);
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    @Test
+    @DisplayName("Should seek a tenant's keyset page in the composite index")
+    void tenantKeysetPageSeeksCompositeIndex() throws SQLException {
+        String plan = explain("""
+                SELECT t.* FROM scheduled_tasks t
+                WHERE t.ssuuid = 'tenant-42' AND t.deleted_at IS NULL
+                  AND (t.created_at, t.id) < (NOW() - interval '1 hour', 'ffffffff-ffff-ffff-ffff-ffffffffffff'::uuid)
+                ORDER BY t.created_at DESC, t.id DESC
+                LIMIT 20
+                """);
+
+        assertTrue(plan.contains("Index Cond"), plan);
+        assertTrue(plan.contains("idx_ssuuid_created_at_id"), plan);
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    private String explain(String sql, Object... params) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 0; i < params.length; i++) {
+                ps.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+}
@@ -0,0 +1,58 @@
+package com.scheduler.scheduler_engine.grpc;
+
+import com.scheduler.scheduler_engine.domain.entity.TaskStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PageToken Tests")
+class PageTokenTest {
+
+    @Test
+    @DisplayName("Should round-trip the cursor with microsecond precision")
+    void shouldRoundTrip() {
+        PageToken token = new PageToken(LocalDateTime.of(2026, 10, 17, 9, 30, 15, 123_456_000), UUID.randomUUID(),
+                PageToken.filters("tenant-1", TaskStatus.PENDING));
+
+        String encoded = token.encode();
+
+        assertEquals(token, PageToken.decode(encoded));
+        assertFalse(encoded.contains("|"), "token should be opaque");
+    }
+
+    @Test
+    @DisplayName("Should reject tokens it did not produce")
+    void shouldRejectMalformedTokens() {
+        assertThrows(IllegalArgumentException.class, () -> PageToken.decode("not base64!"));
+        assertThrows(IllegalArgumentException.class, () -> PageToken.decode("YWJj"));
+        assertThrows(IllegalArgumentException.class,
+                () -> PageToken.decode(new PageToken(LocalDateTime.now(), UUID.randomUUID(), "0").encode().substring(4)));
+    }
+
+    @Test
+    @DisplayName("Should reject cursors that carry no filter digest")
+    void shouldRejectTokensWithoutFilters() {
+        String legacy = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                (LocalDateTime.now() + "|" + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> PageToken.decode(legacy));
+    }
+
+    @Test
+    @DisplayName("Should give each filter set its own digest")
+    void shouldDigestFilters() {
+        assertEquals(PageToken.filters("tenant-1", TaskStatus.PENDING), PageToken.filters("tenant-1", TaskStatus.PENDING));
+        assertEquals(PageToken.filters(null, null), PageToken.filters(null, null));
+
+        assertNotEquals(PageToken.filters("tenant-1", null), PageToken.filters("tenant-2", null));
+        assertNotEquals(PageToken.filters("tenant-1", null), PageToken.filters("tenant-1", TaskStatus.PENDING));
+        assertNotEquals(PageToken.filters(null, TaskStatus.PENDING), PageToken.filters(null, TaskStatus.FAILED));
+        assertNotEquals(PageToken.filters(null, null), PageToken.filters("tenant-1", null));
+    }
+}
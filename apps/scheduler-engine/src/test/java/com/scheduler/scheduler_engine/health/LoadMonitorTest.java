@@ -0,0 +1,86 @@
+package com.scheduler.scheduler_engine.health;
+
+import com.scheduler.scheduler_engine.config.SchedulerConfig;
+import com.scheduler.scheduler_engine.logger.AppLogger;
+import com.scheduler.scheduler_engine.service.AdaptiveConcurrencyLimiter;
+import com.scheduler.scheduler_engine.service.InFlightRegistry;
+import io.grpc.protobuf.services.HealthStatusManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LoadMonitor Tests")
+class LoadMonitorTest {
+
+    private final List<Object> events = new ArrayList<>();
+    private AdaptiveConcurrencyLimiter limiter;
+    private LoadMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        SchedulerConfig config = new SchedulerConfig();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter(config, meterRegistry);
+        monitor = new LoadMonitor(new InFlightRegistry(config, meterRegistry), limiter, config, meterRegistry,
+                new StaticListableBeanFactory().getBeanProvider(HealthStatusManager.class),
+                events::add, new AppLogger());
+    }
+
+    @Test
+    @DisplayName("Should stop serving once any signal reaches its high mark")
+    void shouldShedOnHighSignal() {
+        assertTrue(monitor.update(new LoadMonitor.Sample(0.1, 600, 0)));
+
+        assertTrue(monitor.isShedding());
+        assertEquals(Status.OUT_OF_SERVICE, monitor.health().getStatus());
+        AvailabilityChangeEvent<?> event = (AvailabilityChangeEvent<?>) events.get(0);
+        assertEquals(ReadinessState.REFUSING_TRAFFIC, event.getState());
+    }
+
+    @Test
+    @DisplayName("Should keep shedding until every signal is back at its low mark")
+    void shouldRecoverOnlyBelowLowMarks() {
+        monitor.update(new LoadMonitor.Sample(0.9, 0, 0));
+
+        assertFalse(monitor.update(new LoadMonitor.Sample(0.7, 0, 0)));
+        assertTrue(monitor.isShedding());
+        assertFalse(monitor.update(new LoadMonitor.Sample(0.4, 0, 2000)));
+        assertTrue(monitor.isShedding());
+
+        assertTrue(monitor.update(new LoadMonitor.Sample(0.4, 50, 500)));
+        assertFalse(monitor.isShedding());
+        assertEquals(Status.UP, monitor.health().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should report degraded but keep serving between the marks")
+    void shouldReportDegradedBetweenMarks() {
+        assertFalse(monitor.update(new LoadMonitor.Sample(0.6, 0, 0)));
+
+        assertEquals(Status.UP, monitor.health().getStatus());
+        assertEquals(true, monitor.health().getDetails().get("degraded"));
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should measure slot usage against the adaptive limit")
+    void shouldMeasureQueueAgainstLimit() {
+        while (limiter.tryAcquire()) {
+            // take every slot under the current limit
+        }
+
+        LoadMonitor.Sample sample = monitor.sample();
+
+        assertEquals(1.0, sample.queueRatio());
+    }
+}
@@ -0,0 +1,67 @@
+package com.scheduler.scheduler_engine.scheduling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CronExpressionCache Tests")
+class CronExpressionCacheTest {
+
+    private final ZoneId utc = ZoneId.of("UTC");
+
+    @Test
+    @DisplayName("Should return the same compiled instance on repeated lookups")
+    void shouldReturnSameCompiledInstance() {
+        CronExpressionCache cache = new CronExpressionCache(8);
+
+        CronExpression first = cache.get("*/5 * * * * *", utc);
+        CronExpression second = cache.get("*/5 * * * * *", utc);
+
+        assertSame(first, second);
+        assertEquals(1, cache.missCount());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should key entries by zone as well as expression")
+    void shouldKeyEntriesByZone() {
+        CronExpressionCache cache = new CronExpressionCache(8);
+
+        CronExpression utcCron = cache.get("0 0 12 * * *", utc);
+        CronExpression nyCron = cache.get("0 0 12 * * *", ZoneId.of("America/New_York"));
+
+        assertNotSame(utcCron, nyCron);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry when full")
+    void shouldEvictLeastRecentlyUsedEntry() throws InterruptedException {
+        CronExpressionCache cache = new CronExpressionCache(2);
+        CronExpression a = cache.get("1 * * * * *", utc);
+        Thread.sleep(1);
+        cache.get("2 * * * * *", utc);
+        Thread.sleep(1);
+        cache.get("1 * * * * *", utc); // touch a so b becomes the eldest
+        Thread.sleep(1);
+
+        cache.get("3 * * * * *", utc);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictionCount());
+        assertSame(a, cache.get("1 * * * * *", utc));
+    }
+
+    @Test
+    @DisplayName("Should not cache invalid expressions")
+    void shouldNotCacheInvalidExpressions() {
+        CronExpressionCache cache = new CronExpressionCache(8);
+
+        assertThrows(IllegalArgumentException.class, () -> cache.get("invalid", utc));
+        assertEquals(0, cache.size());
+    }
+}
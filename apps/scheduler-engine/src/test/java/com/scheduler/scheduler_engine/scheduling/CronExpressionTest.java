@@ -48,7 +48,13 @@ class CronExpressionTest {
             "0 0 */2 * * *",      // Every 2 hours
             "0 0 0 * * 1",        // Every Monday at midnight
             "0 30 9 1 * *",       // 9:30 AM on 1st of every month
-            "* * * * * *"         // Every second
+            "* * * * * *",        // Every second
+            "0 0,30 9-17 * * MON-FRI", // Every half hour during business days
+            "0 0 12 ? JAN,JUL *", // Noon in January and July
+            "0 0 0 L * *",        // Last day of every month
+            "0 0 9 15W * *",      // Weekday nearest the 15th
+            "0 0 18 * * 5L",      // Last Friday of the month
+            "0 0 10 * * 1#2"      // Second Monday of the month
         })
         @DisplayName("Should parse various valid cron expressions")
         void shouldParseVariousValidCronExpressions(String cronExpr) {
@@ -77,7 +83,11 @@ class CronExpressionTest {
             "* * 25 * * *",      // Invalid hour (>23)
             "* * * 32 * *",      // Invalid day of month (>31)
             "* * * * 13 *",      // Invalid month (>12)
-            "* * * * * 7"        // Invalid day of week (>6)
+            "* * * * * 7",       // Invalid day of week (>6)
+            "10-5 * * * * *",    // Descending range
+            "*/0 * * * * *",     // Zero step
+            "* * * * FOO *",     // Unknown month name
+            "* * * * * 1#6"      // No sixth weekday in a month
         })
         @DisplayName("Should throw exception for invalid cron expressions")
         void shouldThrowExceptionForInvalidCronExpressions(String cronExpr) {
@@ -214,16 +224,58 @@ class CronExpressionTest {
             assertEquals(15, next.getHour()); // Should be at 3 PM
         }
 
+        @Test
+        @DisplayName("Should find yearly execution without a search cap")
+        void shouldFindYearlyExecution() {
+            CronExpression cron = CronExpression.parse("0 0 0 1 1 *"); // Midnight on January 1st
+            ZonedDateTime now = ZonedDateTime.of(2024, 1, 1, 0, 0, 1, 0, ZoneId.systemDefault());
+
+            ZonedDateTime next = cron.nextExecutionAfter(now);
+
+            assertEquals(ZonedDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneId.systemDefault()), next);
+        }
+
+        @Test
+        @DisplayName("Should skip to the next leap day")
+        void shouldSkipToNextLeapDay() {
+            CronExpression cron = CronExpression.parse("0 0 0 29 2 *", ZoneId.of("UTC"));
+            ZonedDateTime now = ZonedDateTime.of(2024, 3, 1, 0, 0, 0, 0, ZoneId.of("UTC"));
+
+            ZonedDateTime next = cron.nextExecutionAfter(now);
+
+            assertEquals(ZonedDateTime.of(2028, 2, 29, 0, 0, 0, 0, ZoneId.of("UTC")), next);
+        }
+
+        @Test
+        @DisplayName("Should combine day of week with time fields")
+        void shouldCombineDayOfWeekWithTimeFields() {
+            CronExpression cron = CronExpression.parse("0 0 3 * * 1", ZoneId.of("UTC")); // Mondays at 3 AM
+            ZonedDateTime now = ZonedDateTime.of(2024, 1, 8, 3, 0, 0, 0, ZoneId.of("UTC")); // Monday 3 AM
+
+            ZonedDateTime next = cron.nextExecutionAfter(now);
+
+            assertEquals(ZonedDateTime.of(2024, 1, 15, 3, 0, 0, 0, ZoneId.of("UTC")), next);
+        }
+
+        @Test
+        @DisplayName("Should shift executions inside a DST gap forward")
+        void shouldShiftExecutionsInsideDstGapForward() {
+            ZoneId newYork = ZoneId.of("America/New_York");
+            CronExpression cron = CronExpression.parse("0 30 2 * * *", newYork); // 2:30 AM does not exist on 2024-03-10
+            ZonedDateTime now = ZonedDateTime.of(2024, 3, 10, 0, 0, 0, 0, newYork);
+
+            ZonedDateTime next = cron.nextExecutionAfter(now);
+
+            assertEquals(ZonedDateTime.of(2024, 3, 10, 3, 30, 0, 0, newYork), next);
+        }
+
         @Test
         @DisplayName("Should throw exception for impossible cron expression")
         void shouldThrowExceptionForImpossibleCronExpression() {
-            // This creates a cron that can never match (February 30th)
-            // But since our simple implementation doesn't validate dates, 
-            // we'll test with a more realistic scenario that our implementation handles
             CronExpression cron = CronExpression.parse("0 0 0 31 2 *"); // Feb 31st (impossible)
             ZonedDateTime now = ZonedDateTime.now();
             
-            // Our implementation should throw after searching for 7 days
+            // No date ever matches, so the search gives up after a full calendar cycle
             assertThrows(IllegalStateException.class, () -> {
                 cron.nextExecutionAfter(now);
             });
@@ -283,6 +335,116 @@ class CronExpressionTest {
         }
     }
 
+    @Nested
+    @DisplayName("Lists, Ranges and Day Modifiers")
+    class ListsRangesAndDayModifiers {
+
+        private final ZoneId utc = ZoneId.of("UTC");
+
+        @Test
+        @DisplayName("Should match comma lists and stepped ranges")
+        void shouldMatchListsAndSteppedRanges() {
+            CronExpression cron = CronExpression.parse("0,30 10-40/15 * * * *", utc);
+
+            assertTrue(cron.matches(ZonedDateTime.of(2024, 1, 1, 10, 10, 0, 0, utc)));
+            assertTrue(cron.matches(ZonedDateTime.of(2024, 1, 1, 10, 25, 30, 0, utc)));
+            assertTrue(cron.matches(ZonedDateTime.of(2024, 1, 1, 10, 40, 0, 0, utc)));
+            assertFalse(cron.matches(ZonedDateTime.of(2024, 1, 1, 10, 55, 0, 0, utc))); // Outside range
+            assertFalse(cron.matches(ZonedDateTime.of(2024, 1, 1, 10, 10, 15, 0, utc))); // Not in list
+        }
+
+        @Test
+        @DisplayName("Should accept month and day names")
+        void shouldAcceptMonthAndDayNames() {
+            CronExpression named = CronExpression.parse("0 0 9 * feb-APR mon,WED", utc);
+            CronExpression numeric = CronExpression.parse("0 0 9 * 2-4 1,3", utc);
+            ZonedDateTime now = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, utc);
+
+            assertEquals(numeric.nextExecutionAfter(now), named.nextExecutionAfter(now));
+        }
+
+        @Test
+        @DisplayName("Should resolve last day of month")
+        void shouldResolveLastDayOfMonth() {
+            CronExpression cron = CronExpression.parse("0 0 0 L * *", utc);
+
+            ZonedDateTime next = cron.nextExecutionAfter(ZonedDateTime.of(2024, 2, 1, 0, 0, 0, 0, utc));
+
+            assertEquals(ZonedDateTime.of(2024, 2, 29, 0, 0, 0, 0, utc), next);
+        }
+
+        @Test
+        @DisplayName("Should keep every last-day offset in a list")
+        void shouldKeepEveryLastDayOffset() {
+            CronExpression cron = CronExpression.parse("0 0 0 L-3,L-1 * *", utc);
+
+            ZonedDateTime first = cron.nextExecutionAfter(ZonedDateTime.of(2024, 4, 1, 0, 0, 0, 0, utc));
+            ZonedDateTime second = cron.nextExecutionAfter(first);
+
+            assertEquals(ZonedDateTime.of(2024, 4, 27, 0, 0, 0, 0, utc), first);
+            assertEquals(ZonedDateTime.of(2024, 4, 29, 0, 0, 0, 0, utc), second);
+        }
+
+        @Test
+        @DisplayName("Should resolve nearest weekday")
+        void shouldResolveNearestWeekday() {
+            CronExpression cron = CronExpression.parse("0 0 0 15W * *", utc); // 2024-06-15 is a Saturday
+
+            ZonedDateTime next = cron.nextExecutionAfter(ZonedDateTime.of(2024, 6, 1, 0, 0, 0, 0, utc));
+
+            assertEquals(ZonedDateTime.of(2024, 6, 14, 0, 0, 0, 0, utc), next);
+        }
+
+        @Test
+        @DisplayName("Should resolve last and nth weekday of month")
+        void shouldResolveLastAndNthWeekdayOfMonth() {
+            CronExpression lastFriday = CronExpression.parse("0 0 0 ? * 5L", utc);
+            CronExpression secondMonday = CronExpression.parse("0 0 0 ? * MON#2", utc);
+            ZonedDateTime now = ZonedDateTime.of(2024, 1, 1, 0, 0, 0, 0, utc);
+
+            assertEquals(ZonedDateTime.of(2024, 1, 26, 0, 0, 0, 0, utc), lastFriday.nextExecutionAfter(now));
+            assertEquals(ZonedDateTime.of(2024, 1, 8, 0, 0, 0, 0, utc), secondMonday.nextExecutionAfter(now));
+        }
+    }
+
+    @Nested
+    @DisplayName("Epoch Second API")
+    class EpochSecondApi {
+
+        @ParameterizedTest
+        @ValueSource(strings = {"UTC", "America/New_York", "Europe/Berlin", "Asia/Kolkata"})
+        @DisplayName("Should agree with the ZonedDateTime API")
+        void shouldAgreeWithZonedDateTimeApi(String zone) {
+            ZoneId zoneId = ZoneId.of(zone);
+            CronExpression cron = CronExpression.parse("0 15,45 */3 * * MON-FRI", zoneId);
+            ZonedDateTime after = ZonedDateTime.of(2024, 3, 1, 0, 0, 0, 0, zoneId);
+
+            for (int i = 0; i < 200; i++) {
+                ZonedDateTime expected = cron.nextExecutionAfter(after);
+                long actual = cron.nextFireEpochSecond(after.toEpochSecond());
+
+                assertEquals(expected.toEpochSecond(), actual);
+                assertTrue(cron.matches(actual));
+                assertFalse(cron.matches(actual - 1));
+                after = expected;
+            }
+        }
+
+        @Test
+        @DisplayName("Should keep the current offset across a DST overlap")
+        void shouldKeepCurrentOffsetAcrossDstOverlap() {
+            ZoneId newYork = ZoneId.of("America/New_York");
+            CronExpression cron = CronExpression.parse("0 30 1 * * *", newYork); // 1:30 AM happens twice on 2024-11-03
+            ZonedDateTime firstPass = ZonedDateTime.of(2024, 11, 3, 1, 30, 0, 0, newYork).withEarlierOffsetAtOverlap();
+            ZonedDateTime secondPass = firstPass.withLaterOffsetAtOverlap();
+
+            long next = cron.nextFireEpochSecond(firstPass.toEpochSecond() - 60);
+
+            assertEquals(firstPass.toEpochSecond(), next);
+            assertEquals(secondPass.toEpochSecond(), cron.nextFireEpochSecond(secondPass.toEpochSecond() - 60));
+        }
+    }
+
     @Nested
     @DisplayName("Day of Week Conversion")
     class DayOfWeekConversion {
@@ -0,0 +1,159 @@
+package com.scheduler.scheduler_engine.scheduling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TimingWheel Tests")
+class TimingWheelTest {
+
+    private static final long START = 1_700_000_000L;
+
+    private final List<long[]> fired = new ArrayList<>();
+
+    private void record(long msb, long lsb, long due) {
+        fired.add(new long[]{msb, lsb, due});
+    }
+
+    @Test
+    @DisplayName("Should fire an entry in the second it is due and not before")
+    void shouldFireExactlyWhenDue() {
+        TimingWheel wheel = new TimingWheel(START);
+        wheel.schedule(1L, 2L, START + 5);
+
+        assertEquals(0, wheel.advance(START + 4, this::record));
+        assertEquals(1, wheel.size());
+
+        assertEquals(1, wheel.advance(START + 5, this::record));
+        assertArrayEquals(new long[]{1L, 2L, START + 5}, fired.get(0));
+        assertEquals(0, wheel.size());
+        assertFalse(wheel.contains(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should fire entries scheduled at or before the current tick on the next advance")
+    void shouldFireOverdueEntries() {
+        TimingWheel wheel = new TimingWheel(START);
+        wheel.schedule(1L, 1L, START - 3600);
+        wheel.schedule(2L, 2L, START);
+
+        assertEquals(2, wheel.advance(START, this::record));
+    }
+
+    @Test
+    @DisplayName("Should not fire removed entries")
+    void shouldNotFireRemovedEntries() {
+        TimingWheel wheel = new TimingWheel(START);
+        wheel.schedule(1L, 1L, START + 10);
+        wheel.schedule(2L, 2L, START + 10);
+
+        assertTrue(wheel.remove(1L, 1L));
+        assertFalse(wheel.remove(1L, 1L));
+
+        wheel.advance(START + 10, this::record);
+        assertEquals(1, fired.size());
+        assertEquals(2L, fired.get(0)[0]);
+    }
+
+    @Test
+    @DisplayName("Should move an entry when it is scheduled again")
+    void shouldRescheduleExistingEntry() {
+        TimingWheel wheel = new TimingWheel(START);
+        wheel.schedule(1L, 1L, START + 10);
+        wheel.schedule(1L, 1L, START + 100);
+
+        assertEquals(1, wheel.size());
+        assertEquals(0, wheel.advance(START + 50, this::record));
+        assertEquals(1, wheel.advance(START + 100, this::record));
+    }
+
+    @Test
+    @DisplayName("Should cascade far-future entries down to the exact second")
+    void shouldCascadeFarFutureEntries() {
+        TimingWheel wheel = new TimingWheel(START);
+        long[] offsets = {63, 64, 4_095, 4_096, 262_145, 31_536_000};
+        for (int i = 0; i < offsets.length; i++) {
+            wheel.schedule(i, i, START + offsets[i]);
+        }
+
+        for (long offset : offsets) {
+            wheel.advance(START + offset - 1, this::record);
+            assertTrue(fired.stream().noneMatch(f -> f[2] == START + offset), "fired early at offset " + offset);
+            wheel.advance(START + offset, this::record);
+            assertEquals(START + offset, fired.get(fired.size() - 1)[2]);
+        }
+        assertEquals(offsets.length, fired.size());
+    }
+
+    @Test
+    @DisplayName("Should keep every entry when growing past its initial capacity")
+    void shouldGrowBeyondInitialCapacity() {
+        TimingWheel wheel = new TimingWheel(START, 16);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            wheel.schedule(id.getMostSignificantBits(), id.getLeastSignificantBits(), START + 1 + (i % 600));
+        }
+        for (int i = 0; i < ids.size(); i += 2) {
+            wheel.remove(ids.get(i).getMostSignificantBits(), ids.get(i).getLeastSignificantBits());
+        }
+
+        assertEquals(5_000, wheel.size());
+        assertEquals(5_000, wheel.advance(START + 600, this::record));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should hand out a backlog bigger than the limit in batches, oldest due first")
+    void shouldDrainBacklogInBoundedBatchesOldestFirst() {
+        TimingWheel wheel = new TimingWheel(START);
+        Random random = new Random(42);
+        for (int i = 0; i < 1_000; i++) {
+            wheel.schedule(i, i, START - 600 + random.nextInt(1_200));
+        }
+
+        int batches = 0;
+        int n;
+        while ((n = wheel.advance(START + 600, 64, this::record)) > 0) {
+            batches++;
+            assertTrue(n <= 64, "batch over the limit");
+        }
+        for (int i = 1; i < fired.size(); i++) {
+            assertTrue(fired.get(i)[2] >= fired.get(i - 1)[2], "fired out of due order at " + i);
+        }
+
+        assertEquals(1_000, fired.size());
+        assertEquals((1_000 + 63) / 64, batches);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Should keep entries left over by a bounded advance removable and reschedulable")
+    void shouldKeepLeftoverDueEntriesTracked() {
+        TimingWheel wheel = new TimingWheel(START);
+        for (int i = 0; i < 10; i++) {
+            wheel.schedule(i, i, START + 1 + i);
+        }
+
+        assertEquals(3, wheel.advance(START + 10, 3, this::record));
+        assertTrue(wheel.remove(5L, 5L));
+        wheel.schedule(9L, 9L, START + 100);
+        wheel.schedule(8L, 8L, START - 1);
+
+        assertEquals(5, wheel.advance(START + 10, 100, this::record));
+        long[] expected = {0, 1, 2, 8, 3, 4, 6, 7};
+        assertEquals(expected.length, fired.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], fired.get(i)[0]);
+        }
+        assertEquals(1, wheel.size());
+        assertTrue(wheel.contains(9L, 9L));
+    }
+}
@@ -0,0 +1,101 @@
+package com.scheduler.scheduler_engine.service;
+
+import com.scheduler.scheduler_engine.config.SchedulerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdaptiveConcurrencyLimiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SchedulerConfig config;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        config = new SchedulerConfig();
+        config.getLimiter().setInitialLimit(10);
+        config.getLimiter().setMaxLimit(100);
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter(config, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should refuse slots past the limit and count the drops")
+    void shouldDropAtLimit() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        assertFalse(limiter.tryAcquire());
+        assertEquals(0, limiter.available());
+        assertEquals(1.0, meterRegistry.get("scheduler.limiter.drops").counter().count());
+        assertEquals(10.0, meterRegistry.get("scheduler.limiter.in_flight").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should raise the limit while busy and latency holds steady")
+    void shouldGrowWithSteadyLatency() {
+        for (int i = 0; i < 20; i++) {
+            saturatedSample(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        assertTrue(limiter.limit() > 10);
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    @DisplayName("Should lower the limit when latency rises")
+    void shouldShrinkWhenLatencyRises() {
+        for (int i = 0; i < 50; i++) {
+            saturatedSample(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        int before = limiter.limit();
+
+        for (int i = 0; i < 20; i++) {
+            saturatedSample(TimeUnit.MILLISECONDS.toNanos(200));
+        }
+
+        assertTrue(limiter.limit() < before);
+    }
+
+    @Test
+    @DisplayName("Should leave the limit alone while mostly idle")
+    void shouldNotMoveWhenIdle() {
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        assertEquals(10, limiter.limit());
+    }
+
+    @Test
+    @DisplayName("Should not limit anything when disabled")
+    void shouldPassThroughWhenDisabled() {
+        config.getLimiter().setEnabled(false);
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertEquals(Integer.MAX_VALUE, limiter.available());
+    }
+
+    // Takes every slot, then finishes one task while the rest are still busy
+    private void saturatedSample(long latencyNanos) {
+        int held = 0;
+        while (limiter.tryAcquire()) {
+            held++;
+        }
+        limiter.release(latencyNanos);
+        for (int i = 1; i < held; i++) {
+            limiter.release(-1);
+        }
+    }
+}
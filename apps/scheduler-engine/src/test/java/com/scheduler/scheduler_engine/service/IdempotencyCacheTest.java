@@ -0,0 +1,100 @@
+package com.scheduler.scheduler_engine.service;
+
+import com.scheduler.scheduler_engine.config.SchedulerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IdempotencyCache Tests")
+class IdempotencyCacheTest {
+
+    private static final long TTL_MS = 60_000;
+
+    private final AtomicLong nanos = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        SchedulerConfig config = new SchedulerConfig();
+        config.getTask().setIdempotencyCacheSize(2);
+        config.getTask().setCleanupIntervalMs(TTL_MS);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new IdempotencyCache(config, meterRegistry, nanos::get);
+    }
+
+    @Test
+    @DisplayName("Should scope keys by ssuuid")
+    void shouldScopeKeysBySsuuid() {
+        UUID id = register("tenant-a", "key-1");
+
+        assertEquals(id, cache.get("tenant-a", "key-1"));
+        assertNull(cache.get("tenant-b", "key-1"));
+        assertEquals(1.0, meterRegistry.get("scheduler.idempotency.cache").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("scheduler.idempotency.cache").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used key when full")
+    void shouldEvictLeastRecentlyUsed() {
+        UUID first = register("tenant", "first");
+        register("tenant", "second");
+        cache.get("tenant", "first");
+
+        register("tenant", "third");
+
+        assertEquals(2, cache.size());
+        assertEquals(first, cache.get("tenant", "first"));
+        assertNull(cache.get("tenant", "second"));
+    }
+
+    @Test
+    @DisplayName("Should forget a key once its task is deleted")
+    void shouldInvalidate() {
+        register("tenant", "key");
+
+        cache.invalidate("tenant", "key");
+        cache.invalidate("tenant", null);
+
+        assertNull(cache.get("tenant", "key"));
+    }
+
+    @Test
+    @DisplayName("Should answer from memory until the entry is older than the cleanup interval")
+    void shouldExpireEntriesAfterCleanupInterval() {
+        UUID id = register("tenant", "key");
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(TTL_MS) - 1);
+        assertEquals(id, cache.get("tenant", "key"));
+
+        nanos.incrementAndGet();
+        assertNull(cache.get("tenant", "key"));
+        assertEquals(0, cache.size());
+        assertEquals(1.0, meterRegistry.get("scheduler.idempotency.cache").tag("result", "expired").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should restart the expiry when a key is registered again")
+    void shouldRestartExpiryOnPut() {
+        register("tenant", "key");
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(TTL_MS) - 1);
+
+        UUID replacement = register("tenant", "key");
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(TTL_MS) - 1);
+
+        assertEquals(replacement, cache.get("tenant", "key"));
+    }
+
+    private UUID register(String ssuuid, String key) {
+        UUID id = UUID.randomUUID();
+        cache.put(ssuuid, key, id);
+        return id;
+    }
+}
@@ -0,0 +1,77 @@
+package com.scheduler.scheduler_engine.service;
+
+import com.scheduler.scheduler_engine.config.SchedulerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("InFlightRegistry Tests")
+class InFlightRegistryTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private InFlightRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        SchedulerConfig config = new SchedulerConfig();
+        config.getExecutor().setThreadPoolSize(2);
+        config.getExecutor().setDispatchQueueCapacity(1);
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new InFlightRegistry(config, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should size capacity as workers plus dispatch queue")
+    void shouldSizeCapacityFromConfig() {
+        assertEquals(3, registry.capacity());
+        assertEquals(3, registry.freeSlots());
+    }
+
+    @Test
+    @DisplayName("Should not admit a task that is already in flight")
+    void shouldRejectDuplicates() {
+        UUID id = UUID.randomUUID();
+
+        assertTrue(registry.tryAdmit(id));
+        assertFalse(registry.tryAdmit(id));
+
+        assertEquals(1.0, meterRegistry.get("scheduler.dispatch.duplicates.avoided").counter().count());
+        assertEquals(2, registry.freeSlots());
+    }
+
+    @Test
+    @DisplayName("Should reject admission once every slot is taken")
+    void shouldRejectWhenFull() {
+        for (int i = 0; i < 3; i++) {
+            assertTrue(registry.tryAdmit(UUID.randomUUID()));
+        }
+
+        assertFalse(registry.tryAdmit(UUID.randomUUID()));
+        assertEquals(0, registry.freeSlots());
+        assertEquals(1.0, meterRegistry.get("scheduler.dispatch.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should track queued versus running tasks and free the slot when finished")
+    void shouldTrackQueueDepth() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        registry.tryAdmit(first);
+        registry.tryAdmit(second);
+        assertEquals(2, registry.queueDepth());
+
+        registry.started(first);
+        assertEquals(1, registry.queueDepth());
+
+        registry.finished(first);
+        registry.finished(second);
+        assertEquals(0, registry.queueDepth());
+        assertEquals(3, registry.freeSlots());
+        assertFalse(registry.isInFlight(first));
+    }
+}
@@ -0,0 +1,44 @@
+package com.scheduler.scheduler_engine.service;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Throwaway Postgres for the tests that exercise Postgres-only SQL. Tests using it are gated on
+ * SCHEDULER_PLAN_DB_URL like the plan test, e.g.
+ * {@code SCHEDULER_PLAN_DB_URL=jdbc:postgresql://localhost:5432/scheduler_plan_test}
+ * (credentials from SCHEDULER_PLAN_DB_USER / SCHEDULER_PLAN_DB_PASSWORD).
+ */
+final class PostgresTestDatabase {
+
+    static final String URL_VARIABLE = "SCHEDULER_PLAN_DB_URL";
+
+    private PostgresTestDatabase() {
+    }
+
+    /** Wipes the database and applies the real migrations to it. */
+    static DataSource migrateClean() {
+        String url = System.getenv(URL_VARIABLE);
+        String user = System.getenv().getOrDefault("SCHEDULER_PLAN_DB_USER", "postgres");
+        String password = System.getenv().getOrDefault("SCHEDULER_PLAN_DB_PASSWORD", "postgres");
+
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .locations("classpath:db/migration")
+                .cleanDisabled(false)
+                .load()
+                .clean();
+        // Same lock setting as application.yml, or the CONCURRENTLY migrations can wait on Flyway itself
+        Flyway.configure()
+                .dataSource(url, user, password)
+                .locations("classpath:db/migration")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+
+        return new DriverManagerDataSource(url, user, password);
+    }
+}
@@ -0,0 +1,153 @@
+package com.scheduler.scheduler_engine.service;
+
+import com.scheduler.scheduler_engine.config.SchedulerConfig;
+import com.scheduler.scheduler_engine.logger.AppLogger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs archival against seeded rows in Postgres; see {@link PostgresTestDatabase} for the setup.
+ */
+@DisplayName("TaskArchiveService against Postgres")
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_VARIABLE, matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskArchiveServicePostgresTest {
+
+    private static final String PARTITIONS_SQL = """
+            SELECT c.relname FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = 'scheduled_tasks_archive'
+            """;
+
+    private JdbcTemplate jdbcTemplate;
+    private SchedulerConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private IdempotencyCache idempotencyCache;
+    private TaskArchiveService archive;
+
+    @BeforeAll
+    void migrate() {
+        jdbcTemplate = new JdbcTemplate(PostgresTestDatabase.migrateClean());
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE scheduled_tasks");
+        partitions().forEach(name -> jdbcTemplate.execute("DROP TABLE " + name));
+
+        config = new SchedulerConfig();
+        config.getArchive().setRetentionDays(7);
+        config.getArchive().setArchiveRetentionMonths(12);
+        config.getArchive().setChunkSize(200);
+        config.getArchive().setChunkPauseMs(0);
+        meterRegistry = new SimpleMeterRegistry();
+        idempotencyCache = new IdempotencyCache(config, meterRegistry);
+        archive = new TaskArchiveService(jdbcTemplate, config, idempotencyCache, meterRegistry, new AppLogger());
+    }
+
+    // Every row gets its own idempotency key, prefixed with the batch name
+    private void insert(String batch, int rows, LocalDateTime deletedAt) {
+        jdbcTemplate.update("""
+                INSERT INTO scheduled_tasks (id, ssuuid, message, created_at, execution_count, status, next_execution_time,
+                                             deleted_at, idempotency_key)
+                SELECT gen_random_uuid(), 'tenant', 'message ' || i, NOW() - interval '90 days', i,
+                       CASE WHEN CAST(? AS timestamp) IS NULL THEN 'PENDING' ELSE 'DELETED' END,
+                       NOW() + interval '1 hour', CAST(? AS timestamp), ? || '-' || i
+                FROM generate_series(1, ?) AS i
+                """,
+                ts(deletedAt), ts(deletedAt), batch, rows);
+    }
+
+    private static Timestamp ts(LocalDateTime time) {
+        return time == null ? null : Timestamp.valueOf(time);
+    }
+
+    private Set<UUID> ids(String sql, Object... args) {
+        return new HashSet<>(jdbcTemplate.queryForList(sql, UUID.class, args));
+    }
+
+    private Set<String> partitions() {
+        return new HashSet<>(jdbcTemplate.queryForList(PARTITIONS_SQL, String.class));
+    }
+
+    @Test
+    @DisplayName("Should move rows deleted before the retention and keep everything newer")
+    void shouldMoveOnlyRowsPastRetention() {
+        LocalDateTime now = LocalDateTime.now();
+        insert("expired", 500, now.minusDays(10));
+        insert("recent", 50, now.minusDays(2));
+        insert("live", 50, null);
+        idempotencyCache.put("tenant", "expired-1", UUID.randomUUID());
+        idempotencyCache.put("tenant", "live-1", UUID.randomUUID());
+        Timestamp threshold = Timestamp.valueOf(now.minusDays(7));
+        Set<UUID> expired = ids("SELECT id FROM scheduled_tasks WHERE deleted_at < ?", threshold);
+        Set<UUID> kept = ids("SELECT id FROM scheduled_tasks WHERE deleted_at IS NULL OR deleted_at >= ?", threshold);
+
+        long moved = archive.archive();
+
+        assertEquals(500, moved);
+        assertEquals(kept, ids("SELECT id FROM scheduled_tasks"));
+        assertEquals(expired, ids("SELECT id FROM scheduled_tasks_archive"));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM scheduled_tasks_archive WHERE archived_at IS NULL OR status <> 'DELETED'", Integer.class));
+        assertEquals(500, meterRegistry.get("scheduler.archive.rows").counter().count());
+        assertEquals(3, meterRegistry.get("scheduler.archive.chunk").timer().count());
+        assertNull(idempotencyCache.get("tenant", "expired-1"));
+        assertNotNull(idempotencyCache.get("tenant", "live-1"));
+    }
+
+    @Test
+    @DisplayName("Should create the month partition before filling it")
+    void shouldCreateMonthPartitionBeforeInsert() {
+        // No default partition exists, so the insert fails unless the month's partition is there
+        LocalDateTime lastMonth = YearMonth.now().minusMonths(1).atDay(10).atTime(12, 0);
+        LocalDateTime twoMonthsAgo = YearMonth.now().minusMonths(2).atDay(20).atTime(12, 0);
+        insert("last-month", 30, lastMonth);
+        insert("two-months-ago", 20, twoMonthsAgo);
+        assertTrue(partitions().isEmpty());
+
+        assertEquals(50, archive.archive());
+
+        String lastPartition = TaskArchiveService.partitionName(YearMonth.from(lastMonth));
+        String olderPartition = TaskArchiveService.partitionName(YearMonth.from(twoMonthsAgo));
+        assertTrue(partitions().containsAll(List.of(lastPartition, olderPartition)), partitions().toString());
+        assertEquals(30, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + lastPartition, Integer.class));
+        assertEquals(20, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + olderPartition, Integer.class));
+    }
+
+    @Test
+    @DisplayName("Should drop archive months past their retention and nothing else")
+    void shouldDropExpiredPartitions() {
+        YearMonth expired = YearMonth.now().minusMonths(14);
+        YearMonth retained = YearMonth.now().minusMonths(3);
+        for (YearMonth month : List.of(expired, retained)) {
+            jdbcTemplate.execute("CREATE TABLE " + TaskArchiveService.partitionName(month)
+                    + " PARTITION OF scheduled_tasks_archive FOR VALUES FROM ('" + month.atDay(1)
+                    + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+        // Not named by the service, so never a candidate for dropping
+        jdbcTemplate.execute("CREATE TABLE scheduled_tasks_archive_default PARTITION OF scheduled_tasks_archive DEFAULT");
+
+        archive.archive();
+
+        assertEquals(Set.of(TaskArchiveService.partitionName(retained), "scheduled_tasks_archive_default"), partitions());
+        assertEquals(1, meterRegistry.get("scheduler.archive.partitions.dropped").counter().count());
+    }
+}
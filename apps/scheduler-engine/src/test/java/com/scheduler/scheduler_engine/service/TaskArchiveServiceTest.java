@@ -0,0 +1,31 @@
+package com.scheduler.scheduler_engine.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TaskArchiveService Tests")
+class TaskArchiveServiceTest {
+
+    @Test
+    @DisplayName("Should name partitions by year and month and parse them back")
+    void shouldRoundTripPartitionNames() {
+        YearMonth month = YearMonth.of(2026, 3);
+
+        String name = TaskArchiveService.partitionName(month);
+
+        assertEquals("scheduled_tasks_archive_p202603", name);
+        assertEquals(month, TaskArchiveService.monthOf(name));
+    }
+
+    @Test
+    @DisplayName("Should ignore partitions it did not create")
+    void shouldIgnoreForeignPartitions() {
+        assertNull(TaskArchiveService.monthOf("scheduled_tasks_archive_default"));
+        assertNull(TaskArchiveService.monthOf("scheduled_tasks_archive_p2026"));
+        assertNull(TaskArchiveService.monthOf("other_table_p202603"));
+    }
+}
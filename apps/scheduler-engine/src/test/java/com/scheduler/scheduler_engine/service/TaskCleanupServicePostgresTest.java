@@ -0,0 +1,180 @@
+package com.scheduler.scheduler_engine.service;
+
+import com.scheduler.scheduler_engine.config.SchedulerConfig;
+import com.scheduler.scheduler_engine.domain.entity.TaskStatus;
+import com.scheduler.scheduler_engine.logger.AppLogger;
+import com.scheduler.scheduler_engine.scheduling.TaskSchedulingEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs cleanup against seeded rows in Postgres; see {@link PostgresTestDatabase} for the setup.
+ */
+@DisplayName("TaskCleanupService against Postgres")
+@EnabledIfEnvironmentVariable(named = PostgresTestDatabase.URL_VARIABLE, matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskCleanupServicePostgresTest {
+
+    private static final int STALE = 2_500;
+    private static final int CHUNK_SIZE = 300;
+
+    // The JPQL predicate cleanup replaced: PENDING, not deleted, created before the threshold
+    private static final String FIND_STALE_TASKS =
+            "SELECT id FROM scheduled_tasks WHERE status = 'PENDING' AND deleted_at IS NULL AND created_at < ?";
+
+    private DataSource dataSource;
+    private SchedulerConfig config;
+    private SimpleMeterRegistry meterRegistry;
+    private TaskStatusCounters counters;
+    private IdempotencyCache idempotencyCache;
+    private TaskCleanupService cleanup;
+    private final List<Integer> chunkSizes = new ArrayList<>();
+    private final List<TaskSchedulingEvent> events = new ArrayList<>();
+    private Runnable afterChunk = () -> { };
+
+    @BeforeAll
+    void migrate() {
+        dataSource = PostgresTestDatabase.migrateClean();
+    }
+
+    @BeforeEach
+    void setUp() {
+        chunkSizes.clear();
+        events.clear();
+        afterChunk = () -> { };
+
+        // Records what each chunk statement returned, so the test can see chunk boundaries
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+                List<T> rows = super.query(sql, rowMapper, args);
+                chunkSizes.add(rows.size());
+                afterChunk.run();
+                return rows;
+            }
+        };
+        jdbcTemplate.execute("TRUNCATE scheduled_tasks");
+        seed(jdbcTemplate);
+
+        config = new SchedulerConfig();
+        config.getTask().setCleanupChunkSize(CHUNK_SIZE);
+        config.getTask().setCleanupChunkPauseMs(0);
+        config.getTask().setCleanupStaleAfterHours(24);
+        meterRegistry = new SimpleMeterRegistry();
+        counters = new TaskStatusCounters(null, meterRegistry);
+        counters.created(TaskStatus.PENDING, STALE + 100);
+        idempotencyCache = new IdempotencyCache(config, meterRegistry);
+        cleanup = new TaskCleanupService(jdbcTemplate, config, events::add, counters, idempotencyCache, meterRegistry,
+                new AppLogger());
+    }
+
+    // Stale pending tasks, plus rows cleanup must leave alone: recent, not pending, already deleted
+    private void seed(JdbcTemplate jdbcTemplate) {
+        LocalDateTime now = LocalDateTime.now();
+        insert(jdbcTemplate, "stale", STALE, "PENDING", now.minusHours(48), null);
+        insert(jdbcTemplate, "fresh", 100, "PENDING", now.minusHours(1), null);
+        insert(jdbcTemplate, "failed", 100, "FAILED", now.minusHours(48), null);
+        insert(jdbcTemplate, "deleted", 100, "DELETED", now.minusHours(48), now.minusHours(2));
+    }
+
+    // Every row gets its own idempotency key, prefixed with the batch name
+    private void insert(JdbcTemplate jdbcTemplate, String batch, int rows, String status,
+                        LocalDateTime createdAt, LocalDateTime deletedAt) {
+        jdbcTemplate.update("""
+                INSERT INTO scheduled_tasks (id, ssuuid, message, created_at, execution_count, status, next_execution_time,
+                                             deleted_at, idempotency_key)
+                SELECT gen_random_uuid(), 'tenant', 'message ' || i, CAST(? AS timestamp) - (i || ' seconds')::interval, 0, ?,
+                       NOW() + interval '1 hour', CAST(? AS timestamp), ? || '-' || i
+                FROM generate_series(1, ?) AS i
+                """,
+                Timestamp.valueOf(createdAt), status, deletedAt == null ? null : Timestamp.valueOf(deletedAt), batch, rows);
+    }
+
+    private Set<UUID> ids(String sql, Object... args) {
+        return new HashSet<>(new JdbcTemplate(dataSource).queryForList(sql, UUID.class, args));
+    }
+
+    private Set<UUID> staleIds() {
+        return ids(FIND_STALE_TASKS, Timestamp.valueOf(LocalDateTime.now().minusHours(24)));
+    }
+
+    @Test
+    @DisplayName("Should mark every stale row in chunks no larger than the configured size")
+    void shouldDeleteAllStaleRowsInBoundedChunks() {
+        long deleted = cleanup.cleanupOldTasks();
+
+        assertEquals(STALE, deleted);
+        assertEquals((STALE + CHUNK_SIZE - 1) / CHUNK_SIZE, chunkSizes.size());
+        assertTrue(chunkSizes.stream().allMatch(n -> n <= CHUNK_SIZE), chunkSizes.toString());
+        assertTrue(staleIds().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should delete exactly the rows the old findStaleTasks query selected")
+    void shouldMatchFindStaleTasksPredicate() {
+        Set<UUID> expected = staleIds();
+
+        cleanup.cleanupOldTasks();
+
+        assertEquals(STALE, expected.size());
+        // Seeded rows have no updated_at, so it marks exactly the rows this run touched
+        assertEquals(expected, ids("SELECT id FROM scheduled_tasks WHERE updated_at IS NOT NULL AND status = 'DELETED' AND deleted_at IS NOT NULL"));
+    }
+
+    @Test
+    @DisplayName("Should stop between chunks once shutdown is requested")
+    void shouldStopBetweenChunksOnShutdown() {
+        afterChunk = cleanup::shutdown;
+
+        long deleted = cleanup.cleanupOldTasks();
+
+        assertEquals(CHUNK_SIZE, deleted);
+        assertEquals(List.of(CHUNK_SIZE), chunkSizes);
+        assertEquals(STALE - CHUNK_SIZE, staleIds().size());
+    }
+
+    @Test
+    @DisplayName("Should report the affected rows through metrics, counters and events")
+    void shouldRecordAffectedRows() {
+        long deleted = cleanup.cleanupOldTasks();
+
+        assertEquals(deleted, meterRegistry.get("scheduler.cleanup.rows").counter().count());
+        assertEquals(chunkSizes.size(), meterRegistry.get("scheduler.cleanup.chunk").timer().count());
+        assertEquals(100, counters.count(TaskStatus.PENDING));
+        assertEquals(deleted, events.size());
+        assertTrue(events.stream().allMatch(e -> e.type() == TaskSchedulingEvent.Type.CANCELLED));
+        assertEquals(deleted, events.stream().map(TaskSchedulingEvent::taskId).distinct().count());
+    }
+
+    @Test
+    @DisplayName("Should evict the idempotency keys of the tasks it deletes")
+    void shouldEvictFreedIdempotencyKeys() {
+        idempotencyCache.put("tenant", "stale-1", UUID.randomUUID());
+        idempotencyCache.put("tenant", "stale-" + STALE, UUID.randomUUID());
+        idempotencyCache.put("tenant", "fresh-1", UUID.randomUUID());
+
+        cleanup.cleanupOldTasks();
+
+        assertNull(idempotencyCache.get("tenant", "stale-1"));
+        assertNull(idempotencyCache.get("tenant", "stale-" + STALE));
+        assertNotNull(idempotencyCache.get("tenant", "fresh-1"));
+    }
+}
@@ -0,0 +1,35 @@
+package com.scheduler.scheduler_engine.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TaskCleanupService Tests")
+class TaskCleanupServiceTest {
+
+    @Test
+    @DisplayName("Should advance the cursor to the largest id in Postgres byte order")
+    void shouldPickMaxIdUnsigned() {
+        UUID low = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID mid = UUID.fromString("7fffffff-ffff-ffff-ffff-ffffffffffff");
+        // Negative as a signed long, so UUID.compareTo would rank it lowest
+        UUID high = UUID.fromString("80000000-0000-0000-0000-000000000000");
+
+        assertEquals(high, TaskCleanupService.maxId(List.of(mid, high, low)));
+        assertEquals(high, TaskCleanupService.maxId(List.of(high, low, mid)));
+    }
+
+    @Test
+    @DisplayName("Should compare the low half when the high half is equal")
+    void shouldCompareLeastSignificantBits() {
+        UUID a = UUID.fromString("12345678-0000-0000-0000-000000000001");
+        UUID b = UUID.fromString("12345678-0000-0000-f000-000000000000");
+
+        assertEquals(b, TaskCleanupService.maxId(List.of(b, a)));
+        assertEquals(b, TaskCleanupService.maxId(List.of(a, b)));
+    }
+}
@@ -0,0 +1,55 @@
+package com.scheduler.scheduler_engine.service;
+
+import com.scheduler.scheduler_engine.domain.entity.TaskStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TaskStatusCounters Tests")
+class TaskStatusCountersTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskStatusCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        counters = new TaskStatusCounters(null, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should move counts between statuses on transitions")
+    void shouldTrackTransitions() {
+        counters.created(TaskStatus.PENDING, 5);
+        counters.transition(TaskStatus.PENDING, TaskStatus.RUNNING, 3);
+        counters.transition(TaskStatus.RUNNING, TaskStatus.FAILED, 1);
+
+        TaskExecutionService.TaskExecutionStats stats = counters.snapshot();
+        assertEquals(2, stats.getPendingCount());
+        assertEquals(2, stats.getRunningCount());
+        assertEquals(1, stats.getFailedCount());
+        assertEquals(5, stats.getTotalCount());
+    }
+
+    @Test
+    @DisplayName("Should stop counting tasks once they are deleted")
+    void shouldNotCountDeleted() {
+        counters.created(TaskStatus.PENDING, 2);
+        counters.transition(TaskStatus.PENDING, TaskStatus.DELETED, 2);
+
+        assertEquals(0, counters.snapshot().getTotalCount());
+        assertEquals(0, counters.count(TaskStatus.DELETED));
+    }
+
+    @Test
+    @DisplayName("Should expose a gauge per live status")
+    void shouldRegisterGauges() {
+        counters.created(TaskStatus.COMPLETED, 4);
+
+        assertEquals(4.0, meterRegistry.get("scheduler.tasks").tag("status", "COMPLETED").gauge().value());
+        assertNull(meterRegistry.find("scheduler.tasks").tag("status", "DELETED").gauge());
+    }
+}
@@ -0,0 +1,8 @@
+-- H2 has no partial indexes; a plain index is enough for tests
+ALTER TABLE scheduled_tasks
+ADD COLUMN claimed_by VARCHAR(255);
+
+ALTER TABLE scheduled_tasks
+ADD COLUMN lease_expires_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_lease_expires_at ON scheduled_tasks (lease_expires_at);
@@ -0,0 +1,3 @@
+-- H2 has no partial indexes or CONCURRENTLY; plain equivalents keep the schema in step
+CREATE INDEX IF NOT EXISTS idx_pending_next_execution ON scheduled_tasks (status, next_execution_time);
+CREATE INDEX IF NOT EXISTS idx_ssuuid_created_at ON scheduled_tasks (ssuuid, created_at DESC);
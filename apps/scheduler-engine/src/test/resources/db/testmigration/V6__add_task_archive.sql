@@ -0,0 +1,18 @@
+-- H2 has no declarative partitioning; tests only need the table shape
+CREATE TABLE IF NOT EXISTS scheduled_tasks_archive (
+    id UUID NOT NULL,
+    ssuuid VARCHAR(255) NOT NULL,
+    message VARCHAR(1000) NOT NULL,
+    cron_expression VARCHAR(50) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    execution_count INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NULL,
+    last_executed_at TIMESTAMP NULL,
+    next_execution_time TIMESTAMP NULL,
+    deleted_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (id, deleted_at)
+);
+
+CREATE INDEX IF NOT EXISTS idx_archive_ssuuid ON scheduled_tasks_archive (ssuuid);
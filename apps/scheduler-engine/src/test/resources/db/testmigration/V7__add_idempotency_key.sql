@@ -0,0 +1 @@
+ALTER TABLE scheduled_tasks ADD COLUMN idempotency_key VARCHAR(255);
@@ -0,0 +1,2 @@
+-- H2 has no partial indexes; NULL keys never collide in a plain unique index either
+CREATE UNIQUE INDEX IF NOT EXISTS idx_ssuuid_idempotency_key ON scheduled_tasks (ssuuid, idempotency_key);
@@ -0,0 +1,3 @@
+-- H2 has no partial indexes or CONCURRENTLY; plain equivalents keep the schema in step
+CREATE INDEX IF NOT EXISTS idx_ssuuid_created_at_id ON scheduled_tasks (ssuuid, created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_ssuuid_created_at;